@@ -0,0 +1,53 @@
+package com.example.runner.bench;
+
+import com.example.runner.GeometryLayer;
+import com.example.runner.InputState;
+import com.example.runner.Level;
+import com.example.runner.PlayerBody;
+import com.example.runner.PlayerPhysics;
+import com.example.runner.Simulation;
+
+/**
+ * Plays an endless run: holds right and jumps just before obstacles and
+ * platform edges, looking only at the resident level. Good enough to survive
+ * the EndlessChunkSource layouts indefinitely, and allocation-free.
+ */
+public final class EndlessAutopilot {
+    // Jump when an obstacle's left edge is this far ahead of the player
+    private static final double OBSTACLE_MIN_DISTANCE = 15;
+    private static final double OBSTACLE_MAX_DISTANCE = 40;
+    // Jump when the platform underfoot ends within this distance
+    private static final double EDGE_DISTANCE = 5;
+
+    private EndlessAutopilot() {
+    }
+
+    public static void steer(Simulation simulation, InputState input) {
+        input.setRight(true);
+        input.setJump(false);
+        PlayerBody player = simulation.getPlayer();
+        if (player.isJumping()) return;
+
+        double minX = player.getX();
+        double front = minX + PlayerPhysics.PLAYER_SIZE;
+        Level level = simulation.getLevel();
+
+        GeometryLayer obstacles = level.getObstacleLayer();
+        for (int i = 0; i < obstacles.size(); i++) {
+            double distance = obstacles.getMinX(i) - front;
+            if (distance >= OBSTACLE_MIN_DISTANCE && distance <= OBSTACLE_MAX_DISTANCE) {
+                input.setJump(true);
+                return;
+            }
+        }
+
+        GeometryLayer platforms = level.getPlatformLayer();
+        for (int i = 0; i < platforms.size(); i++) {
+            if (platforms.getMinX(i) < front && platforms.getMaxX(i) > minX
+                    && platforms.getMaxX(i) - front <= EDGE_DISTANCE) {
+                input.setJump(true);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.runner.bench;
+
+import com.example.runner.EndlessChunkSource;
+import com.example.runner.InputState;
+import com.example.runner.Level;
+import com.example.runner.LevelStreamer;
+import com.example.runner.Simulation;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test of endless mode: an EndlessAutopilot run is fast-forwarded by
+ * the given number of hours of play before measuring, then each operation
+ * is one steered tick. Tick cost, the gc profiler's allocation rate (which
+ * should be 0 B/op) and the residentObjects and generatedChunks secondary
+ * results should not depend on how long the run has been going. Like all
+ * EVENTS counters, the secondary results are summed over the iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndlessBenchmark {
+    private static final long TICKS_PER_HOUR = 3600L * Simulation.TICK_RATE;
+
+    @Param({"0", "1", "4"})
+    public int hours;
+
+    private EndlessChunkSource source;
+    private Simulation simulation;
+    private final InputState input = new InputState();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        // Platforms and obstacles resident at the end of the iteration
+        public long residentObjects;
+        // Chunks generated during the iteration
+        public long generatedChunks;
+
+        private long generatedAtStart;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void start(EndlessBenchmark benchmark) {
+            residentObjects = 0;
+            generatedChunks = 0;
+            generatedAtStart = benchmark.source.getGeneratedChunks();
+        }
+
+        @TearDown(org.openjdk.jmh.annotations.Level.Iteration)
+        public void finish(EndlessBenchmark benchmark) {
+            Level level = benchmark.simulation.getLevel();
+            residentObjects = level.getPlatformLayer().size() + level.getObstacleLayer().size();
+            generatedChunks = benchmark.source.getGeneratedChunks() - generatedAtStart;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        source = new EndlessChunkSource(42);
+        LevelStreamer streamer = new LevelStreamer(source);
+        simulation = new Simulation(n -> streamer, 800, 400);
+        simulation.setMaxLevels(1);
+        simulation.setDistanceScoring(100);
+        simulation.start(1);
+
+        for (long tick = 0; tick < hours * TICKS_PER_HOUR; tick++) {
+            step();
+        }
+    }
+
+    @Benchmark
+    public long endlessTick(Counters counters) {
+        step();
+        return simulation.getTick();
+    }
+
+    private void step() {
+        EndlessAutopilot.steer(simulation, input);
+        simulation.step(input);
+        if (!simulation.isRunning()) {
+            throw new IllegalStateException("Autopilot died at tick " + simulation.getTick());
+        }
+    }
+}
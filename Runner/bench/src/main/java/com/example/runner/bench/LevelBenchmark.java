@@ -0,0 +1,49 @@
+package com.example.runner.bench;
+
+import com.example.runner.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-level preprocessing done after loading: level width and the
+ * spatial index / render order rebuild.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int objects;
+
+    private Level level;
+
+    @Setup
+    public void setUp() {
+        level = LevelJsonGenerator.level(objects, 42);
+    }
+
+    @Benchmark
+    public double calculateLevelWidth() {
+        level.calculateLevelWidth();
+        return level.getLevelWidth();
+    }
+
+    @Benchmark
+    public Level buildSpatialIndex() {
+        level.buildSpatialIndex();
+        return level;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.runner.bench;
+
+import com.example.runner.Level;
+import com.example.runner.LevelLoader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Generates large synthetic levels as JSON text, in the custom format and
+ * as a Tiled map export, for benchmarking the loaders.
+ */
+public final class LevelJsonGenerator {
+    private LevelJsonGenerator() {
+    }
+
+    /**
+     * Custom format level with the given number of platforms and obstacles
+     */
+    public static String customLevel(int objects, long seed) {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(objects * 64);
+        json.append("{\n  \"levelId\": 1,\n  \"levelName\": \"Generated\",\n");
+        json.append("  \"backgroundPath\": \"/com/example/runner/leveltest.png\",\n");
+        json.append("  \"platforms\": [");
+        int platforms = objects - objects / 4;
+        double x = 0;
+        for (int i = 0; i < platforms; i++) {
+            if (i > 0) json.append(',');
+            appendBox(json, x, 150 + random.nextInt(200), 100 + random.nextInt(300), 20 + random.nextInt(30));
+            x += 50 + random.nextInt(150);
+        }
+        json.append("],\n  \"obstacles\": [");
+        for (int i = 0; i < objects - platforms; i++) {
+            if (i > 0) json.append(',');
+            appendBox(json, random.nextDouble() * x, 100 + random.nextInt(250), 50, 50);
+        }
+        json.append("],\n  \"goal\": ");
+        appendBox(json, x + 100, 300, 50, 50);
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Custom format level, parsed into a Level with its spatial index built
+     */
+    public static Level level(int objects, long seed) {
+        try {
+            Level level = new LevelLoader().parseLevel(new StringReader(customLevel(objects, seed)));
+            level.buildSpatialIndex();
+            return level;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tiled map export with the same kind of content, split into object layers
+     */
+    public static String tiledLevel(int objects, long seed) {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(objects * 160);
+        int platforms = objects - objects / 4;
+        int id = 1;
+        double x = 0;
+
+        json.append("{\n  \"type\": \"map\", \"version\": \"1.10\", \"orientation\": \"orthogonal\",\n");
+        json.append("  \"layers\": [\n    {\"name\": \"Platforms\", \"type\": \"objectgroup\", \"objects\": [");
+        for (int i = 0; i < platforms; i++) {
+            if (i > 0) json.append(',');
+            appendTiledObject(json, id++, "", x, 150 + random.nextInt(200), 100 + random.nextInt(300), 32);
+            x += 50 + random.nextInt(150);
+        }
+        json.append("]},\n    {\"name\": \"Hazards\", \"type\": \"objectgroup\", \"objects\": [");
+        for (int i = 0; i < objects - platforms; i++) {
+            if (i > 0) json.append(',');
+            appendTiledObject(json, id++, "spike", random.nextDouble() * x, 100 + random.nextInt(250), 32, 32);
+        }
+        json.append(",");
+        appendTiledObject(json, id, "goal", x + 100, 300, 32, 32);
+        json.append("]}\n  ],\n");
+        json.append("  \"properties\": [{\"name\": \"background\", \"type\": \"string\", \"value\": \"/com/example/runner/leveltest.png\"}],\n");
+        json.append("  \"width\": ").append((int) (x / 32) + 10).append(", \"height\": 13,");
+        json.append(" \"tilewidth\": 32, \"tileheight\": 32\n}\n");
+        return json.toString();
+    }
+
+    private static void appendBox(StringBuilder json, double x, double y, double width, double height) {
+        json.append("\n    {\"x\": ").append(x)
+                .append(", \"y\": ").append(y)
+                .append(", \"width\": ").append(width)
+                .append(", \"height\": ").append(height)
+                .append('}');
+    }
+
+    private static void appendTiledObject(StringBuilder json, int id, String type,
+                                          double x, double y, double width, double height) {
+        json.append("\n      {\"id\": ").append(id)
+                .append(", \"name\": \"\", \"type\": \"").append(type)
+                .append("\", \"rotation\": 0, \"visible\": true")
+                .append(", \"x\": ").append(x)
+                .append(", \"y\": ").append(y)
+                .append(", \"width\": ").append(width)
+                .append(", \"height\": ").append(height)
+                .append('}');
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.runner.bench;
+
+import com.example.runner.Level;
+import com.example.runner.LevelLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming (JsonReader) level parsing against the old JSON-tree parse.
+ * Throughput is in objects per level; the gc profiler (on by default through
+ * BenchmarkMain) reports the allocation per parse as gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelLoaderBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int objects;
+
+    @Param({"custom", "tiled"})
+    public String format;
+
+    private String json;
+    private LevelLoader streamingLoader;
+    private TreeLevelParser treeParser;
+
+    @Setup
+    public void setUp() {
+        json = format.equals("tiled")
+                ? LevelJsonGenerator.tiledLevel(objects, 42)
+                : LevelJsonGenerator.customLevel(objects, 42);
+        streamingLoader = new LevelLoader();
+        treeParser = new TreeLevelParser();
+    }
+
+    @Benchmark
+    public Level streaming() throws IOException {
+        return streamingLoader.parseLevel(new StringReader(json));
+    }
+
+    @Benchmark
+    public Level tree() {
+        return treeParser.parseLevel(new StringReader(json));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.runner.bench;
+
+import com.example.runner.InputState;
+import com.example.runner.Level;
+import com.example.runner.LevelStreamer;
+import com.example.runner.PackedChunkSource;
+import com.example.runner.PlayerBody;
+import com.example.runner.PlayerPhysics;
+import com.example.runner.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one game tick. physicsStep measures movement and collision alone,
+ * against the fully resident level, at positions spread over the whole level.
+ * simulationTick runs the complete Simulation (streaming, physics, camera),
+ * restarting the run whenever the player dies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhysicsBenchmark {
+    private static final int POSITIONS = 1024;
+
+    @Param({"100", "10000", "1000000"})
+    public int objects;
+
+    private Level level;
+    private final PlayerPhysics physics = new PlayerPhysics();
+    private final PlayerBody body = new PlayerBody();
+    private final InputState input = new InputState(InputState.RIGHT);
+    private final double[] positions = new double[POSITIONS];
+    private int position;
+
+    private Simulation simulation;
+
+    @Setup
+    public void setUp() {
+        level = LevelJsonGenerator.level(objects, 42);
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = level.getLevelWidth() * i / POSITIONS;
+        }
+
+        // Restarts reuse the streamer, so they cost a window move rather than a reload
+        LevelStreamer streamer = new LevelStreamer(new PackedChunkSource(level));
+        simulation = new Simulation(n -> streamer, 800, 400);
+        simulation.setMaxLevels(1);
+        simulation.start(1);
+    }
+
+    @Benchmark
+    public PlayerBody physicsStep() {
+        body.reset(positions[position], 200);
+        position = (position + 1) & (POSITIONS - 1);
+        physics.step(body, input, level, 400);
+        return body;
+    }
+
+    @Benchmark
+    public long simulationTick() {
+        if (!simulation.isRunning()) {
+            simulation.start(1);
+        }
+        simulation.step(input);
+        return simulation.getTick();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.runner.bench;
+
+import com.example.runner.GeometryLayer;
+import com.example.runner.Level;
+import com.example.runner.SpatialGrid;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Culling of the world geometry for one view window: the spatial query a
+ * frame would pay to find the visible platforms and obstacles if it drew
+ * them directly. The game now draws them from WorldTileCache instead, and
+ * only culls like this when a tile is rendered. The visibleBoxes and frames
+ * secondary results are totals per iteration; their ratio is the number of
+ * boxes culled in per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+    private static final double VIEW_WIDTH = 800;
+    private static final double CULL_MARGIN = 64;
+    private static final int FRAMES = 1024;
+
+    @Param({"100", "10000", "1000000"})
+    public int objects;
+
+    private Level level;
+    private final SpatialGrid.Hits visible = new SpatialGrid.Hits();
+    private final double[] cameraPositions = new double[FRAMES];
+    private int frame;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long visibleBoxes;
+        public long frames;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void reset() {
+            visibleBoxes = 0;
+            frames = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        level = LevelJsonGenerator.level(objects, 42);
+        double maxCameraX = Math.max(0, level.getLevelWidth() - VIEW_WIDTH);
+        for (int i = 0; i < FRAMES; i++) {
+            cameraPositions[i] = maxCameraX * i / FRAMES;
+        }
+    }
+
+    @Benchmark
+    public int cullFrame(Counters counters) {
+        double cameraX = cameraPositions[frame];
+        frame = (frame + 1) & (FRAMES - 1);
+
+        int count = cull(level.getPlatformLayer(), cameraX)
+                + cull(level.getObstacleLayer(), cameraX);
+        counters.visibleBoxes += count;
+        counters.frames++;
+        return count;
+    }
+
+    private int cull(GeometryLayer layer, double cameraX) {
+        layer.queryXRange(cameraX - CULL_MARGIN, cameraX + VIEW_WIDTH + CULL_MARGIN, visible);
+        return visible.size();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.runner.bench;
+
+import com.example.runner.Level;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import javafx.geometry.Rectangle2D;
+import java.io.Reader;
+
+/**
+ * The previous tree-based LevelLoader parse path (Gson JsonObject, then
+ * get("x").getAsDouble() per field), kept as the baseline for
+ * LevelLoaderBenchmark.
+ */
+public class TreeLevelParser {
+    private final Gson gson = new Gson();
+
+    public Level parseLevel(Reader reader) {
+        JsonObject jsonObject = gson.fromJson(reader, JsonObject.class);
+        if (jsonObject.has("type") && jsonObject.get("type").getAsString().equals("map")) {
+            return loadFromTiledJSON(jsonObject);
+        } else {
+            return loadFromCustomJSON(jsonObject);
+        }
+    }
+
+    private Level loadFromCustomJSON(JsonObject json) {
+        Level level = new Level();
+
+        if (json.has("levelId")) {
+            level.setLevelId(json.get("levelId").getAsInt());
+        }
+        if (json.has("levelName")) {
+            level.setLevelName(json.get("levelName").getAsString());
+        }
+        if (json.has("backgroundPath")) {
+            level.setBackgroundPath(json.get("backgroundPath").getAsString());
+        }
+        if (json.has("levelWidth")) {
+            level.setLevelWidth(json.get("levelWidth").getAsDouble());
+        }
+
+        if (json.has("platforms")) {
+            JsonArray platforms = json.getAsJsonArray("platforms");
+            for (int i = 0; i < platforms.size(); i++) {
+                JsonObject platform = platforms.get(i).getAsJsonObject();
+                level.addPlatform(platform.get("x").getAsDouble(), platform.get("y").getAsDouble(),
+                        platform.get("width").getAsDouble(), platform.get("height").getAsDouble());
+            }
+        }
+
+        if (json.has("obstacles")) {
+            JsonArray obstacles = json.getAsJsonArray("obstacles");
+            for (int i = 0; i < obstacles.size(); i++) {
+                JsonObject obstacle = obstacles.get(i).getAsJsonObject();
+                level.addObstacle(obstacle.get("x").getAsDouble(), obstacle.get("y").getAsDouble(),
+                        obstacle.get("width").getAsDouble(), obstacle.get("height").getAsDouble());
+            }
+        }
+
+        if (json.has("goal")) {
+            JsonObject goal = json.getAsJsonObject("goal");
+            level.setGoal(new Rectangle2D(goal.get("x").getAsDouble(), goal.get("y").getAsDouble(),
+                    goal.get("width").getAsDouble(), goal.get("height").getAsDouble()));
+        }
+
+        if (level.getLevelWidth() == 0) {
+            level.calculateLevelWidth();
+        }
+        return level;
+    }
+
+    private Level loadFromTiledJSON(JsonObject json) {
+        Level level = new Level();
+        level.setLevelWidth(json.get("width").getAsInt() * json.get("tilewidth").getAsInt());
+
+        JsonArray layers = json.getAsJsonArray("layers");
+        for (int i = 0; i < layers.size(); i++) {
+            JsonObject layer = layers.get(i).getAsJsonObject();
+            String layerName = layer.get("name").getAsString().toLowerCase();
+            if (!layer.get("type").getAsString().equals("objectgroup")) continue;
+
+            JsonArray objects = layer.getAsJsonArray("objects");
+            for (int j = 0; j < objects.size(); j++) {
+                JsonObject obj = objects.get(j).getAsJsonObject();
+                double x = obj.get("x").getAsDouble();
+                double y = obj.get("y").getAsDouble();
+                double width = obj.get("width").getAsDouble();
+                double height = obj.get("height").getAsDouble();
+
+                String objectType = "";
+                if (obj.has("type")) {
+                    objectType = obj.get("type").getAsString().toLowerCase();
+                } else if (obj.has("name")) {
+                    objectType = obj.get("name").getAsString().toLowerCase();
+                }
+
+                if (layerName.contains("platform") || objectType.contains("platform")) {
+                    level.addPlatform(x, y, width, height);
+                } else if (layerName.contains("obstacle") || objectType.contains("obstacle") ||
+                        objectType.contains("spike") || objectType.contains("enemy")) {
+                    level.addObstacle(x, y, width, height);
+                } else if (layerName.contains("goal") || objectType.contains("goal") ||
+                        objectType.contains("flag") || objectType.contains("finish")) {
+                    level.setGoal(new Rectangle2D(x, y, width, height));
+                }
+            }
+        }
+
+        if (json.has("properties")) {
+            JsonArray properties = json.getAsJsonArray("properties");
+            for (int i = 0; i < properties.size(); i++) {
+                JsonObject prop = properties.get(i).getAsJsonObject();
+                if (prop.get("name").getAsString().equals("background")) {
+                    level.setBackgroundPath(prop.get("value").getAsString());
+                }
+            }
+        }
+        return level;
+    }
+}
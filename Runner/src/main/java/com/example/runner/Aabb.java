@@ -0,0 +1,40 @@
+package com.example.runner;
+
+/**
+ * Mutable axis-aligned bounding box, reused across ticks instead of
+ * allocating a new Rectangle2D for every collision test.
+ */
+public class Aabb {
+    private double minX, minY, maxX, maxY;
+
+    public Aabb set(double x, double y, double width, double height) {
+        this.minX = x;
+        this.minY = y;
+        this.maxX = x + width;
+        this.maxY = y + height;
+        return this;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Same semantics as Rectangle2D.intersects: touching edges do not count
+     */
+    public boolean intersects(double otherMinX, double otherMinY, double otherMaxX, double otherMaxY) {
+        return otherMaxX > minX && otherMaxY > minY && otherMinX < maxX && otherMinY < maxY;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.runner;
+
+/**
+ * One parallax layer of a level background: an image that scrolls at
+ * parallax times the camera speed (0 stays put, 1 moves with the world).
+ * Layers are listed back to front.
+ */
+public class BackgroundLayer {
+    public static final double DEFAULT_PARALLAX = 0.5;
+
+    private final String path;
+    private final double parallax;
+
+    public BackgroundLayer(String path, double parallax) {
+        this.path = path;
+        this.parallax = parallax;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public double getParallax() {
+        return parallax;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.runner;
+
+import java.util.Arrays;
+
+/**
+ * For chunked geometry in owner order (the boxes owned by chunk c are
+ * chunkStart[c]..chunkStart[c + 1]), the boxes owned by earlier chunks that
+ * still reach into each chunk. A streamer decoding a range of chunks takes
+ * these from the first chunk of the range only, so a wide box is resident
+ * whenever a chunk it overlaps is, without its owner chunk staying loaded.
+ */
+final class ChunkContinuations {
+    // start[c]..start[c + 1] index into boxes, which lists box numbers in owner order
+    final int[] start;
+    final int[] boxes;
+
+    ChunkContinuations(int[] start, int[] boxes) {
+        this.start = start;
+        this.boxes = boxes;
+    }
+
+    /**
+     * @param maxX right edge of every box, in owner order
+     */
+    static ChunkContinuations of(int[] chunkStart, double[] maxX, double chunkWidth) {
+        int chunkCount = chunkStart.length - 1;
+        int[] start = new int[chunkCount + 1];
+        for (int c = 0; c < chunkCount; c++) {
+            for (int b = chunkStart[c]; b < chunkStart[c + 1]; b++) {
+                int last = chunkOf(maxX[b], chunkWidth, chunkCount);
+                for (int d = c + 1; d <= last; d++) {
+                    start[d + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < chunkCount; c++) {
+            start[c + 1] += start[c];
+        }
+
+        int[] boxes = new int[start[chunkCount]];
+        int[] cursor = Arrays.copyOf(start, chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            for (int b = chunkStart[c]; b < chunkStart[c + 1]; b++) {
+                int last = chunkOf(maxX[b], chunkWidth, chunkCount);
+                for (int d = c + 1; d <= last; d++) {
+                    boxes[cursor[d]++] = b;
+                }
+            }
+        }
+        return new ChunkContinuations(start, boxes);
+    }
+
+    /**
+     * Chunk holding x, clamped to the level's chunks. A box touching a chunk
+     * boundary with its right edge counts as reaching into the next chunk.
+     */
+    static int chunkOf(double x, double chunkWidth, int chunkCount) {
+        return (int) Math.max(0, Math.min(chunkCount - 1L, (long) Math.floor(x / chunkWidth)));
+    }
+}
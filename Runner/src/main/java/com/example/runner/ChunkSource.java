@@ -0,0 +1,30 @@
+package com.example.runner;
+
+/**
+ * Supplies level geometry in fixed-width chunks along the x axis, so a
+ * LevelStreamer can keep only the chunks around the camera resident.
+ * Every object is owned by the chunk containing its minX, and also reaches
+ * into the chunks up to the one containing its maxX.
+ */
+public interface ChunkSource {
+    /**
+     * Width of one chunk in pixels
+     */
+    double getChunkWidth();
+
+    int getChunkCount();
+
+    /**
+     * Copy everything that is not chunked (id, name, background, goal,
+     * level width) into the target level
+     */
+    void loadHeader(Level target);
+
+    /**
+     * Append the platforms and obstacles of one chunk to the target level:
+     * the objects it owns and, for the first chunk of a decoded range, also
+     * the objects owned by earlier chunks that reach into it. Decoding a
+     * range in order so adds every object overlapping it exactly once.
+     */
+    void decodeChunk(int chunk, boolean first, Level target);
+}
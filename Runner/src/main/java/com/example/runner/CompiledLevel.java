@@ -0,0 +1,353 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A level in the compiled binary format (.rlvl), read straight from a
+ * (usually memory-mapped) buffer. Geometry is never turned into objects:
+ * chunks are decoded from the buffer into the resident Level on demand.
+ *
+ * Layout (little-endian, see LevelCompiler for the writer):
+ * <pre>
+ *  header      magic "RLVL", version, levelId, chunkCount, chunkWidth,
+ *              levelWidth, maxObjectWidth (unused since version 3), flags,
+ *              stringCount, goal[4],
+ *              levelName and backgroundPath as string table indices
+ *  strings     stringCount x (int byteLength, UTF-8 bytes), padded to 8
+ *  background  (version 2+) int layerCount, int 0,
+ *              layerCount x (int path string index, int 0, double parallax)
+ *  layer x 2   platforms then obstacles:
+ *              int count, int chunkStart[chunkCount + 1],
+ *              (version 3+) int continuationCount,
+ *              int continuationStart[chunkCount + 1], int continuation[continuationCount],
+ *              padded to 8,
+ *              double x[count], y[count], width[count], height[count]
+ * </pre>
+ * Boxes in a layer are grouped by the chunk holding their minX, in level
+ * order within a chunk. The continuations of a chunk list the boxes of
+ * earlier chunks reaching into it (see ChunkContinuations); for older files
+ * they are worked out when the file is opened.
+ */
+public class CompiledLevel implements ChunkSource {
+    public static final int MAGIC = 0x4C564C52; // "RLVL" read little-endian
+    public static final int VERSION = 3;
+    public static final String EXTENSION = ".rlvl";
+
+    static final int FLAG_HAS_GOAL = 1;
+    static final int HEADER_SIZE = 88;
+
+    private final int levelId;
+    private final int chunkCount;
+    private final double chunkWidth;
+    private final double levelWidth;
+    private final Rectangle2D goal;
+    private final String levelName;
+    private final String backgroundPath;
+    private final List<BackgroundLayer> backgroundLayers = new ArrayList<>();
+    private final Layer platforms;
+    private final Layer obstacles;
+
+    public CompiledLevel(ByteBuffer buffer) throws IOException {
+        ByteBuffer buf = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(0);
+        if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC) {
+            throw new IOException("Not a compiled level file");
+        }
+        int version = buf.getInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported compiled level version: " + version);
+        }
+
+        levelId = buf.getInt();
+        chunkCount = buf.getInt();
+        if (chunkCount < 0 || chunkCount == Integer.MAX_VALUE) {
+            throw new IOException("Invalid chunk count: " + chunkCount);
+        }
+        chunkWidth = buf.getDouble();
+        levelWidth = buf.getDouble();
+        if (!(chunkWidth > 0)) {
+            throw new IOException("Invalid chunk width: " + chunkWidth);
+        }
+        buf.getDouble(); // maxObjectWidth
+        int flags = buf.getInt();
+        int stringCount = buf.getInt();
+        if (stringCount < 0) {
+            throw new IOException("Invalid string count: " + stringCount);
+        }
+        double goalX = buf.getDouble();
+        double goalY = buf.getDouble();
+        double goalWidth = buf.getDouble();
+        double goalHeight = buf.getDouble();
+        int levelNameIndex = buf.getInt();
+        int backgroundIndex = buf.getInt();
+        if ((flags & FLAG_HAS_GOAL) != 0) {
+            if (!(goalWidth >= 0 && goalHeight >= 0)) {
+                throw new IOException("Invalid goal size: " + goalWidth + " x " + goalHeight);
+            }
+            goal = new Rectangle2D(goalX, goalY, goalWidth, goalHeight);
+        } else {
+            goal = null;
+        }
+
+        // String table
+        require(buf, (long) stringCount * Integer.BYTES);
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            require(buf, Integer.BYTES);
+            int length = buf.getInt();
+            if (length < 0) {
+                throw new IOException("Invalid string length: " + length);
+            }
+            require(buf, length);
+            byte[] bytes = new byte[length];
+            buf.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        skipPadding(buf);
+        levelName = string(strings, levelNameIndex);
+        backgroundPath = string(strings, backgroundIndex);
+
+        // Parallax layers (added in version 2)
+        if (version >= 2) {
+            require(buf, 2 * Integer.BYTES);
+            int layerCount = buf.getInt();
+            buf.getInt();
+            if (layerCount < 0) {
+                throw new IOException("Invalid background layer count: " + layerCount);
+            }
+            require(buf, (long) layerCount * (2 * Integer.BYTES + Double.BYTES));
+            for (int i = 0; i < layerCount; i++) {
+                int pathIndex = buf.getInt();
+                buf.getInt();
+                String path = string(strings, pathIndex);
+                if (path == null) {
+                    throw new IOException("Background layer without a path");
+                }
+                backgroundLayers.add(new BackgroundLayer(path, buf.getDouble()));
+            }
+        }
+
+        platforms = new Layer(buf, version, chunkCount, chunkWidth);
+        obstacles = new Layer(buf, version, chunkCount, chunkWidth);
+    }
+
+    /**
+     * Memory-map a compiled level file
+     */
+    public static CompiledLevel open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new CompiledLevel(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Load a compiled level from resources, memory-mapping it when the
+     * resource is a plain file and reading it into memory otherwise (e.g. from a jar)
+     * @return the level, or null if there is no such resource or it cannot be read
+     */
+    public static CompiledLevel fromResource(String resourcePath) {
+        URL url = CompiledLevel.class.getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return open(Paths.get(url.toURI()));
+            }
+            try (InputStream is = url.openStream()) {
+                byte[] bytes = is.readAllBytes();
+                return new CompiledLevel(ByteBuffer.wrap(bytes));
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Error loading compiled level " + resourcePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Decode the whole level into a regular Level (for the editor and tools)
+     */
+    public Level toLevel() {
+        Level level = new Level();
+        loadHeader(level);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            decodeChunk(chunk, chunk == 0, level);
+        }
+        return level;
+    }
+
+    @Override
+    public double getChunkWidth() {
+        return chunkWidth;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    public void loadHeader(Level target) {
+        target.setLevelId(levelId);
+        target.setLevelName(levelName);
+        target.setBackgroundPath(backgroundPath);
+        target.setBackgroundLayers(backgroundLayers);
+        target.setGoal(goal);
+        target.setLevelWidth(levelWidth);
+    }
+
+    @Override
+    public void decodeChunk(int chunk, boolean first, Level target) {
+        platforms.decode(chunk, first, target.getPlatformLayer());
+        obstacles.decode(chunk, first, target.getObstacleLayer());
+    }
+
+    static void align(ByteBuffer buf) {
+        buf.position((buf.position() + 7) & ~7);
+    }
+
+    // align() for reading, where the padding may be cut off
+    private static void skipPadding(ByteBuffer buf) throws IOException {
+        require(buf, ((buf.position() + 7) & ~7) - buf.position());
+        align(buf);
+    }
+
+    private static void require(ByteBuffer buf, long length) throws IOException {
+        if (length > buf.remaining()) {
+            throw new IOException("Truncated compiled level file");
+        }
+    }
+
+    // A string table entry, or null for index -1
+    private static String string(String[] strings, int index) throws IOException {
+        if (index < -1 || index >= strings.length) {
+            throw new IOException("Invalid string index: " + index);
+        }
+        return index >= 0 ? strings[index] : null;
+    }
+
+    /**
+     * Views over one layer's section of the buffer
+     */
+    private static class Layer {
+        final IntBuffer chunkStart;
+        final IntBuffer continuationStart;
+        final IntBuffer continuations;
+        final DoubleBuffer x, y, width, height;
+
+        Layer(ByteBuffer buf, int version, int chunkCount, double chunkWidth) throws IOException {
+            require(buf, Integer.BYTES);
+            int count = buf.getInt();
+            if (count < 0) {
+                throw new IOException("Invalid box count: " + count);
+            }
+            chunkStart = slice(buf, (chunkCount + 1L) * Integer.BYTES).asIntBuffer();
+            IntBuffer storedContinuationStart = null;
+            IntBuffer storedContinuations = null;
+            int continuationCount = 0;
+            if (version >= 3) {
+                require(buf, Integer.BYTES);
+                continuationCount = buf.getInt();
+                if (continuationCount < 0) {
+                    throw new IOException("Invalid continuation count: " + continuationCount);
+                }
+                storedContinuationStart = slice(buf, (chunkCount + 1L) * Integer.BYTES).asIntBuffer();
+                storedContinuations = slice(buf, (long) continuationCount * Integer.BYTES).asIntBuffer();
+            }
+            skipPadding(buf);
+            x = slice(buf, (long) count * Double.BYTES).asDoubleBuffer();
+            y = slice(buf, (long) count * Double.BYTES).asDoubleBuffer();
+            width = slice(buf, (long) count * Double.BYTES).asDoubleBuffer();
+            height = slice(buf, (long) count * Double.BYTES).asDoubleBuffer();
+
+            // decode() trusts the chunk offsets, so check them all up front
+            int previous = 0;
+            for (int chunk = 0; chunk <= chunkCount; chunk++) {
+                int start = chunkStart.get(chunk);
+                if (start < previous || start > count) {
+                    throw new IOException("Invalid chunk offset " + start + " for chunk " + chunk);
+                }
+                previous = start;
+            }
+
+            if (version >= 3) {
+                // Each chunk may only continue boxes owned by earlier chunks
+                previous = 0;
+                for (int chunk = 0; chunk <= chunkCount; chunk++) {
+                    int start = storedContinuationStart.get(chunk);
+                    if (start < previous || start > continuationCount) {
+                        throw new IOException("Invalid continuation offset " + start + " for chunk " + chunk);
+                    }
+                    if (chunk > 0) {
+                        for (int k = previous; k < start; k++) {
+                            int box = storedContinuations.get(k);
+                            if (box < 0 || box >= chunkStart.get(chunk - 1)) {
+                                throw new IOException("Invalid continuation " + box + " for chunk " + (chunk - 1));
+                            }
+                        }
+                    }
+                    previous = start;
+                }
+                continuationStart = storedContinuationStart;
+                continuations = storedContinuations;
+            } else {
+                int[] starts = new int[chunkCount + 1];
+                chunkStart.get(0, starts);
+                double[] maxX = new double[count];
+                for (int b = 0; b < count; b++) {
+                    maxX[b] = x.get(b) + width.get(b);
+                }
+                ChunkContinuations computed = ChunkContinuations.of(starts, maxX, chunkWidth);
+                continuationStart = IntBuffer.wrap(computed.start);
+                continuations = IntBuffer.wrap(computed.boxes);
+            }
+        }
+
+        void decode(int chunk, boolean first, GeometryLayer target) {
+            if (first) {
+                int start = continuationStart.get(chunk);
+                int end = continuationStart.get(chunk + 1);
+                target.ensureCapacity(target.size() + end - start);
+                for (int k = start; k < end; k++) {
+                    add(continuations.get(k), target);
+                }
+            }
+            int start = chunkStart.get(chunk);
+            int end = chunkStart.get(chunk + 1);
+            target.ensureCapacity(target.size() + end - start);
+            for (int b = start; b < end; b++) {
+                add(b, target);
+            }
+        }
+
+        private void add(int b, GeometryLayer target) {
+            target.add(x.get(b), y.get(b), width.get(b), height.get(b));
+        }
+
+        private static ByteBuffer slice(ByteBuffer buf, long length) throws IOException {
+            if (length < 0 || length > buf.remaining()) {
+                throw new IOException("Truncated compiled level file");
+            }
+            ByteBuffer slice = buf.slice().limit((int) length).order(ByteOrder.LITTLE_ENDIAN);
+            buf.position(buf.position() + (int) length);
+            return slice;
+        }
+    }
+}
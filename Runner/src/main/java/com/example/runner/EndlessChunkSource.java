@@ -0,0 +1,200 @@
+package com.example.runner;
+
+/**
+ * Procedurally generated, practically endless ChunkSource for endless mode.
+ * Each chunk is ground segments separated by jumpable gaps, with obstacles on
+ * the longer segments. A chunk's content depends only on the seed and its
+ * index, so a run can be regenerated (and replayed) from the seed alone.
+ *
+ * Generated chunks are kept in a fixed pool of Chunk objects allocated up
+ * front. When a chunk is needed that is not cached, the chunk furthest left
+ * (the one that scrolled off first) is recycled for it, so once the level
+ * arrays have grown to the window size, generation allocates nothing.
+ */
+public class EndlessChunkSource implements ChunkSource {
+    public static final double GROUND_Y = 350;
+    public static final double GROUND_HEIGHT = 50;
+    public static final double OBSTACLE_SIZE = 50;
+
+    // Gaps stay well inside a jump (about 40 ticks in the air at PLAYER_SPEED)
+    static final double MIN_GAP = 60;
+    static final double MAX_GAP = 140;
+    static final double MIN_SEGMENT = 200;
+    static final double MAX_SEGMENT = 600;
+    // Obstacles keep this far from the segment ends, room to land and take off again
+    static final double OBSTACLE_CLEARANCE_START = 220;
+    static final double OBSTACLE_CLEARANCE_END = 160;
+
+    // Comfortably more than the chunks a LevelStreamer keeps resident
+    private static final int POOL_SIZE = 16;
+    private static final int MAX_BOXES_PER_CHUNK = 16;
+
+    private final long seed;
+    private final double chunkWidth;
+    private final Chunk[] pool = new Chunk[POOL_SIZE];
+    private long generatedChunks;
+
+    public EndlessChunkSource(long seed) {
+        this(seed, LevelStreamer.DEFAULT_CHUNK_WIDTH);
+    }
+
+    public EndlessChunkSource(long seed, double chunkWidth) {
+        if (chunkWidth < MIN_SEGMENT + MAX_GAP) {
+            throw new IllegalArgumentException("Chunk width too small: " + chunkWidth);
+        }
+        this.seed = seed;
+        this.chunkWidth = chunkWidth;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool[i] = new Chunk();
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Number of times a chunk was generated, including regeneration after recycling
+     */
+    public long getGeneratedChunks() {
+        return generatedChunks;
+    }
+
+    @Override
+    public double getChunkWidth() {
+        return chunkWidth;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void loadHeader(Level target) {
+        target.setLevelId(0);
+        target.setLevelName("Endless");
+        target.setBackgroundPath("/com/example/runner/background.png");
+        target.setGoal(null);
+        target.setLevelWidth(getChunkCount() * chunkWidth);
+    }
+
+    // Every chunk ends in a gap, so nothing reaches into the next one
+    @Override
+    public void decodeChunk(int chunk, boolean first, Level target) {
+        Chunk generated = acquire(chunk);
+        GeometryLayer platforms = target.getPlatformLayer();
+        for (int i = 0; i < generated.platformCount; i++) {
+            int at = i * 4;
+            platforms.add(generated.platforms[at], generated.platforms[at + 1],
+                    generated.platforms[at + 2], generated.platforms[at + 3]);
+        }
+        GeometryLayer obstacles = target.getObstacleLayer();
+        for (int i = 0; i < generated.obstacleCount; i++) {
+            int at = i * 4;
+            obstacles.add(generated.obstacles[at], generated.obstacles[at + 1],
+                    generated.obstacles[at + 2], generated.obstacles[at + 3]);
+        }
+    }
+
+    /**
+     * The cached chunk, or a recycled one regenerated for it
+     */
+    private Chunk acquire(int index) {
+        Chunk victim = pool[0];
+        for (Chunk candidate : pool) {
+            if (candidate.index == index) {
+                return candidate;
+            }
+            // Unused slots first, then the chunk furthest behind
+            if (candidate.index < victim.index) {
+                victim = candidate;
+            }
+        }
+        generate(index, victim);
+        return victim;
+    }
+
+    private void generate(int index, Chunk out) {
+        generatedChunks++;
+        out.index = index;
+        out.platformCount = 0;
+        out.obstacleCount = 0;
+        long random = mix(seed ^ mix(index + 0x9E3779B97F4A7C15L));
+
+        double start = index * chunkWidth;
+        double end = start + chunkWidth;
+        if (index == 0) {
+            // Safe run-up: one long segment under the start position
+            out.addPlatform(start, end - MIN_GAP);
+            return;
+        }
+
+        // Every chunk starts on ground and ends in a gap, so any two chunks join up
+        double x = start;
+        while (true) {
+            random = mix(random);
+            double gap = MIN_GAP + unit(random) * (MAX_GAP - MIN_GAP);
+            random = mix(random);
+            double length = MIN_SEGMENT + unit(random) * (MAX_SEGMENT - MIN_SEGMENT);
+
+            boolean last = x + length + gap + MIN_SEGMENT + MAX_GAP > end
+                    || out.platformCount == MAX_BOXES_PER_CHUNK;
+            if (last) {
+                length = end - x - gap;
+            }
+            out.addPlatform(x, length);
+
+            random = mix(random);
+            if (length >= OBSTACLE_CLEARANCE_START + OBSTACLE_SIZE + OBSTACLE_CLEARANCE_END && unit(random) < 0.6) {
+                random = mix(random);
+                double room = length - OBSTACLE_CLEARANCE_START - OBSTACLE_SIZE - OBSTACLE_CLEARANCE_END;
+                out.addObstacle(x + OBSTACLE_CLEARANCE_START + unit(random) * room);
+            }
+
+            if (last) {
+                return;
+            }
+            x += length + gap;
+        }
+    }
+
+    // SplitMix64 finalizer, a stateless hash usable as a random stream
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Top 53 bits as a double in [0, 1)
+    private static double unit(long random) {
+        return (random >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * One generated chunk as packed (x, y, width, height) quads
+     */
+    private static final class Chunk {
+        int index = -1;
+        final double[] platforms = new double[MAX_BOXES_PER_CHUNK * 4];
+        final double[] obstacles = new double[MAX_BOXES_PER_CHUNK * 4];
+        int platformCount;
+        int obstacleCount;
+
+        void addPlatform(double x, double width) {
+            int at = platformCount++ * 4;
+            platforms[at] = x;
+            platforms[at + 1] = GROUND_Y;
+            platforms[at + 2] = width;
+            platforms[at + 3] = GROUND_HEIGHT;
+        }
+
+        void addObstacle(double x) {
+            int at = obstacleCount++ * 4;
+            obstacles[at] = x;
+            obstacles[at + 1] = GROUND_Y - OBSTACLE_SIZE;
+            obstacles[at + 2] = OBSTACLE_SIZE;
+            obstacles[at + 3] = OBSTACLE_SIZE;
+        }
+    }
+}
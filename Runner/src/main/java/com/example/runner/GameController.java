@@ -2,8 +2,6 @@ package com.example.runner;
 
 import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
-import javafx.geometry.Rectangle2D;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -11,50 +9,82 @@ import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.paint.Color;
-import javafx.fxml.FXMLLoader;
-import java.util.ArrayList;
-import java.util.List;
-
-public class GameController {
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * View and input for the game. The game logic runs in a Simulation; this
+ * controller drives it from the JavaFX pulse, renders its state and handles
+ * scene changes and level preloading.
+ */
+public class GameController implements SceneController, Simulation.Listener {
     @FXML private Canvas gameCanvas;
     private GraphicsContext gc;
     private AnimationTimer gameLoop;
     private Stage stage;
 
-    // Game variables
-    private double playerY = 300;
-    private double playerX = 100;
-    private double velocityY = 0;
-    private double velocityX = 0;
-    private boolean isJumping = false;
-    private boolean isMovingLeft = false;
-    private boolean isMovingRight = false;
-    private int score = 0;
-    private boolean gameRunning = false;
-    private boolean gameOverState = false;
-    private final double PLAYER_SPEED = 5;
-    private final double PLAYER_SIZE = 50;
-    private final double GRAVITY = 1;
-
-    // Camera variables (NEW!)
-    private double cameraX = 0;
-    private final double CAMERA_OFFSET = 300; // Keep player this far from left edge
-    private final double CAMERA_SMOOTHNESS = 0.1; // Camera follow smoothness (0-1)
-    private double targetCameraX = 0;
+    // Game state
+    private Simulation simulation;
+    private final InputState input = new InputState();
+
+    // Input recording (-Drunner.record.dir=<dir>) and replay
+    private static final String RECORDING_DIR = System.getProperty("runner.record.dir");
+    private InputRecording recording;
+    private InputRecording.Cursor replay;
+    private InputRecording replayOf;
+
+    // Fixed-timestep loop: the simulation runs at Simulation.TICK_RATE
+    private static final long TICK_NANOS = 1_000_000_000L / Simulation.TICK_RATE;
+    private static final int MAX_TICKS_PER_PULSE = 5; // Catch-up cap (avoids spiral of death)
+    private long lastPulseTime = -1;
+    private long tickAccumulator = 0;
+
+    // State after the last two ticks, rendering interpolates between them
+    private final SimulationState previousState = new SimulationState();
+    private final SimulationState currentState = new SimulationState();
+
+    // Phase timings, and the overlay showing them (toggled with F3)
+    private final PerfMonitor perf = PerfMonitor.getInstance();
+    private final PerfOverlay perfOverlay = new PerfOverlay();
+
+    private WorldTileCache worldTiles; // Platforms, obstacles and goal, pre-rendered
 
     // Level variables
-    private Level currentLevelData;
-    private int currentLevelNumber = 1;
-    private final int MAX_LEVELS = 3;
-    private LevelLoader levelLoader;
+    private Future<PreparedLevel> nextLevel; // Being loaded in the background while this one is played
+
+    // Endless mode: generated level, a point per ENDLESS_POINT_DISTANCE travelled
+    // (-Drunner.endless.seed=<seed> replays the same level)
+    private static final double ENDLESS_POINT_DISTANCE = 100;
+    private boolean endless;
+
+    // Hot reload (-Drunner.levels.dir=<dir>): the watcher thread parses an edited
+    // level and leaves it here, one per level, the game swaps it in at the next tick
+    private LevelWatcher levelWatcher;
+    private final Map<Integer, PreparedLevel> reloadedLevels = new ConcurrentHashMap<>();
+
+    // Loads the next level (geometry and background) off the JavaFX thread
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "level-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     // Image variables
     private Image[] avatarImages = new Image[3];
-    private Image backgroundImage;
+    private ParallaxBackground background;
     private Image flagImage;
-    private int avatarFrame = 0;
-    private int avatarFrameCounter = 0;
-    private final int AVATAR_SWAP_DELAY = 10;
+    private final int AVATAR_SWAP_DELAY = 10; // Ticks per avatar frame
 
     public void setStage(Stage stage) {
         this.stage = stage;
@@ -67,336 +97,454 @@ public class GameController {
         gameCanvas.setOnKeyPressed(this::handleKeyPress);
         gameCanvas.setOnKeyReleased(this::handleKeyRelease);
 
-        // Initialize level loader
-        levelLoader = new LevelLoader();
-
-        // Load avatar images
-        try {
-            avatarImages[0] = new Image(getClass().getResourceAsStream("/com/example/runner/avatar1.png"));
-            avatarImages[1] = new Image(getClass().getResourceAsStream("/com/example/runner/avatar2.png"));
-            avatarImages[2] = new Image(getClass().getResourceAsStream("/com/example/runner/avatar3.png"));
-        } catch (Exception e) {
-            System.err.println("Error loading avatar images: " + e.getMessage());
-        }
+        // Load avatar images (shared across scenes through the image cache)
+        ImageCache images = ImageCache.getInstance();
+        avatarImages[0] = images.get("/com/example/runner/avatar1.png");
+        avatarImages[1] = images.get("/com/example/runner/avatar2.png");
+        avatarImages[2] = images.get("/com/example/runner/avatar3.png");
 
         // Load flag image
         loadFlagImage();
+
+        worldTiles = new WorldTileCache(gameCanvas.getHeight());
+        worldTiles.setFlagImage(flagImage);
     }
 
     private void loadFlagImage() {
-        try {
-            flagImage = new Image(getClass().getResourceAsStream("/com/example/runner/flag.png"));
+        flagImage = ImageCache.getInstance().get("/com/example/runner/flag.png");
+        if (flagImage != null) {
             System.out.println("Flag image loaded successfully");
-        } catch (Exception e) {
-            System.err.println("Error loading flag image: " + e.getMessage());
-            flagImage = null;
-        }
-    }
-
-    private void loadBackground(String path) {
-        try {
-            backgroundImage = new Image(getClass().getResourceAsStream(path));
-        } catch (Exception e) {
-            System.err.println("Error loading background: " + e.getMessage());
-            backgroundImage = null;
         }
     }
 
     /**
-     * Load a level from JSON file
+     * Level provider for the simulation: the preloaded level if available,
+     * otherwise load it now. Starts preloading the level after it.
      */
-    private void loadLevel(int levelNumber) {
-        // Try to load from JSON first
-        String jsonPath = "/com/example/runner/levels/level" + levelNumber + ".json";
-        Level level = levelLoader.loadFromJSON(jsonPath);
-
-        if (level == null) {
-            // Fallback to hardcoded level if JSON not found
-            System.out.println("JSON not found, using hardcoded level " + levelNumber);
-            level = createHardcodedLevel(levelNumber);
-        } else {
-            System.out.println("Loaded level " + levelNumber + " from JSON");
+    private LevelStreamer takeLevel(int levelNumber) {
+        Future<PreparedLevel> preload = nextLevel;
+        nextLevel = null;
+
+        PreparedLevel prepared = null;
+        if (preload != null) {
+            if (!preload.isDone()) {
+                System.out.println("Level " + levelNumber + " still preloading, waiting for it");
+            }
+            try {
+                prepared = preload.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("Error preloading level " + levelNumber + ": " + e.getCause());
+            }
+        }
+        if (prepared == null || prepared.levelNumber != levelNumber) {
+            prepared = prepareLevel(levelNumber, gameCanvas.getWidth(), gameCanvas.getHeight());
         }
 
-        currentLevelData = level;
+        background = prepared.background;
+        worldTiles.setLevel(prepared.streamer);
+        preloadLevel(levelNumber + 1);
+        return prepared.streamer;
+    }
 
-        // Load background
-        if (level.getBackgroundPath() != null) {
-            loadBackground(level.getBackgroundPath());
+    private void preloadLevel(int levelNumber) {
+        if (nextLevel != null) {
+            nextLevel.cancel(true);
+            nextLevel = null;
         }
+        if (levelNumber > LevelLibrary.LEVEL_COUNT) return;
 
-        // Reset camera
-        cameraX = 0;
-        targetCameraX = 0;
+        double viewWidth = gameCanvas.getWidth();
+        double viewHeight = gameCanvas.getHeight();
+        nextLevel = PRELOADER.submit(() -> prepareLevel(levelNumber, viewWidth, viewHeight));
     }
 
     /**
-     * Fallback hardcoded levels (same as before)
+     * Load everything a level needs before play starts. Touches no game
+     * state, so it can run on the preloader thread.
      */
-    private Level createHardcodedLevel(int levelNumber) {
-        Level level = new Level(levelNumber, "/com/example/runner/background.png", "Level " + levelNumber);
-
-        if (levelNumber == 1) {
-            level.setBackgroundPath("/com/example/runner/leveltest.png");
-            level.addPlatform(0, 350, 400, 50);
-            level.addPlatform(500, 350, 400, 50);
-            level.addPlatform(200, 250, 200, 20);
-            level.addObstacle(600, 300, 50, 50);
-            level.setGoal(new Rectangle2D(850, 300, 50, 50));
-        } else if (levelNumber == 2) {
-            level.addPlatform(0, 350, 300, 50);
-            level.addPlatform(400, 350, 300, 50);
-            level.addPlatform(150, 200, 150, 20);
-            level.addPlatform(500, 150, 150, 20);
-            level.addObstacle(250, 300, 50, 50);
-            level.addObstacle(550, 100, 50, 50);
-            level.setGoal(new Rectangle2D(750, 100, 50, 50));
-        } else if (levelNumber == 3) {
-            level.addPlatform(0, 350, 200, 50);
-            level.addPlatform(300, 350, 200, 50);
-            level.addPlatform(600, 350, 200, 50);
-            level.addPlatform(100, 250, 100, 20);
-            level.addPlatform(400, 200, 100, 20);
-            level.addPlatform(700, 150, 100, 20);
-            level.addObstacle(150, 300, 50, 50);
-            level.addObstacle(450, 150, 50, 50);
-            level.setGoal(new Rectangle2D(850, 100, 50, 50));
-        }
-
-        level.calculateLevelWidth();
-        return level;
+    private PreparedLevel prepareLevel(int levelNumber, double viewWidth, double viewHeight) {
+        return prepareLevel(levelNumber, LevelLibrary.load(levelNumber), viewWidth, viewHeight);
     }
 
-    public void startGame() {
-        gameRunning = true;
-        gameOverState = false;
-        score = 0;
-        playerY = 300;
-        playerX = 100;
-        currentLevelNumber = 1;
-        cameraX = 0;
-        targetCameraX = 0;
+    private PreparedLevel prepareLevel(int levelNumber, ChunkSource source, double viewWidth, double viewHeight) {
+        long start = System.nanoTime();
 
-        loadLevel(currentLevelNumber);
+        // Stream the level in chunks; only the window around the camera stays resident
+        LevelStreamer streamer = new LevelStreamer(source);
+        streamer.update(Simulation.START_X, 0, viewWidth);
 
+        // Background layers, pre-scaled to the view height
+        ParallaxBackground background = ParallaxBackground.load(streamer.getLevel(), viewHeight);
+        perf.getLevelLoad().record(System.nanoTime() - start);
+        return new PreparedLevel(levelNumber, streamer, background);
+    }
+
+    /**
+     * A new visit starts from a clean slate; the start methods below then pick the mode
+     */
+    @Override
+    public void onShow() {
+        reset();
+    }
+
+    /**
+     * Stop the game and clear per-run state. The controller is pooled by
+     * SceneManager, so this runs on every visit and when leaving the scene.
+     * The mode is kept so restart() can replay it.
+     */
+    public void reset() {
         if (gameLoop != null) {
             gameLoop.stop();
         }
-
-        gameLoop = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                update();
-                render();
-            }
-        };
-        gameLoop.start();
-        gameCanvas.requestFocus();
-        System.out.println("Game started! Level: " + currentLevelNumber);
+        if (nextLevel != null) {
+            nextLevel.cancel(true);
+            nextLevel = null;
+        }
+        if (levelWatcher != null) {
+            levelWatcher.close();
+            levelWatcher = null;
+        }
+        reloadedLevels.clear();
+        simulation = null;
+        input.clear();
+        recording = null;
+        replay = null;
+        replayOf = null;
+        background = null;
+        worldTiles.setLevel(null);
     }
 
-    private void update() {
-        if (!gameRunning || gameOverState || currentLevelData == null) return;
+    /**
+     * Start a new game at level 1. Like the other start methods, call it after
+     * SceneManager.show(), which clears the previous run.
+     */
+    public void startGame() {
+        endless = false;
+        simulation = new Simulation(this::takeLevel, gameCanvas.getWidth(), gameCanvas.getHeight());
+        if (RECORDING_DIR != null) {
+            recording = new InputRecording(1, gameCanvas.getWidth(), gameCanvas.getHeight());
+        }
+        watchLevels();
+        run(1);
+    }
 
-        // Horizontal movement
-        velocityX = 0;
-        if (isMovingLeft) velocityX = -PLAYER_SPEED;
-        if (isMovingRight) velocityX = PLAYER_SPEED;
+    /**
+     * Start an endless run on a generated level. Endless runs are not recorded.
+     */
+    public void startEndless() {
+        long seed = Long.getLong("runner.endless.seed", System.nanoTime());
+        endless = true;
+        simulation = new Simulation(levelNumber -> takeEndlessLevel(seed), gameCanvas.getWidth(), gameCanvas.getHeight());
+        simulation.setMaxLevels(1);
+        simulation.setDistanceScoring(ENDLESS_POINT_DISTANCE);
+        System.out.println("Endless mode, seed " + seed);
+        run(1);
+    }
 
-        double newPlayerX = playerX + velocityX;
-        Rectangle2D playerRect = new Rectangle2D(newPlayerX, playerY, PLAYER_SIZE, PLAYER_SIZE);
-        boolean canMoveX = true;
+    private LevelStreamer takeEndlessLevel(long seed) {
+        LevelStreamer streamer = new LevelStreamer(new EndlessChunkSource(seed));
+        background = ParallaxBackground.load(streamer.getLevel(), gameCanvas.getHeight());
+        worldTiles.setLevel(streamer);
+        return streamer;
+    }
 
-        for (Rectangle2D platform : currentLevelData.getPlatforms()) {
-            if (playerRect.intersects(platform)) {
-                canMoveX = false;
-                break;
-            }
+    /**
+     * Start another run in the same mode as the last one
+     */
+    public void restart() {
+        if (endless) {
+            startEndless();
+        } else {
+            startGame();
         }
+    }
+
+    /**
+     * Start watching the level directory, if one is set, for edited levels
+     */
+    private void watchLevels() {
+        Path levelDir = LevelLibrary.getLevelDirectory();
+        if (levelDir == null) return;
 
-        if (canMoveX) {
-            playerX = newPlayerX;
+        double viewWidth = gameCanvas.getWidth();
+        double viewHeight = gameCanvas.getHeight();
+        LevelLoader loader = new LevelLoader();
+        try {
+            // Called on the watcher thread: parse only the changed file there
+            levelWatcher = new LevelWatcher(levelDir, (levelNumber, file) -> {
+                Level level = loader.loadFromFile(file);
+                if (level == null) {
+                    System.err.println("Keeping the current version of level " + levelNumber);
+                    return;
+                }
+                reloadedLevels.put(levelNumber, prepareLevel(levelNumber, new PackedChunkSource(level), viewWidth, viewHeight));
+            });
+            System.out.println("Watching " + levelDir + " for level changes");
+        } catch (IOException e) {
+            System.err.println("Could not watch " + levelDir + ": " + e.getMessage());
         }
+    }
+
+    /**
+     * Apply hot-reloaded levels between ticks. The current level is swapped in
+     * place; a reload of the next level replaces its preload.
+     */
+    private void applyReloadedLevels() {
+        if (reloadedLevels.isEmpty()) return;
 
-        // Keep player within level bounds
-        if (playerX < 0) playerX = 0;
-        if (playerX > currentLevelData.getLevelWidth() - PLAYER_SIZE) {
-            playerX = currentLevelData.getLevelWidth() - PLAYER_SIZE;
+        for (Integer levelNumber : reloadedLevels.keySet()) {
+            PreparedLevel reloaded = reloadedLevels.remove(levelNumber);
+            if (reloaded != null) {
+                applyReloadedLevel(reloaded);
+            }
         }
+    }
 
-        // Update camera to follow player (smooth scrolling)
-        targetCameraX = playerX - CAMERA_OFFSET;
-        targetCameraX = Math.max(0, targetCameraX); // Don't go below 0
+    private void applyReloadedLevel(PreparedLevel reloaded) {
+        if (reloaded.levelNumber == simulation.getLevelNumber()) {
+            simulation.replaceLevel(reloaded.streamer);
+            background = reloaded.background;
+            worldTiles.setLevel(reloaded.streamer);
+            System.out.println("Reloaded level " + reloaded.levelNumber + " at tick " + simulation.getTick());
+            if (recording != null) {
+                // The recording could not reproduce the edited level
+                System.out.println("Level changed during the run, it will not be recorded");
+                recording = null;
+            }
+        } else if (reloaded.levelNumber == simulation.getLevelNumber() + 1) {
+            if (nextLevel != null) {
+                nextLevel.cancel(true);
+            }
+            nextLevel = CompletableFuture.completedFuture(reloaded);
+        }
+    }
 
-        // Don't scroll past the end of the level
-        double maxCameraX = currentLevelData.getLevelWidth() - gameCanvas.getWidth();
-        if (maxCameraX < 0) maxCameraX = 0;
-        targetCameraX = Math.min(targetCameraX, maxCameraX);
+    /**
+     * Play a recorded run back in real time. Keyboard movement is ignored
+     * until the recording runs out.
+     */
+    public void startReplay(InputRecording replayOf) {
+        endless = false;
+        this.replayOf = replayOf;
+        replay = replayOf.cursor();
+        simulation = replayOf.createSimulation(this::takeLevel);
+        run(replayOf.getFirstLevel());
+    }
 
-        // Smooth camera follow
-        cameraX += (targetCameraX - cameraX) * CAMERA_SMOOTHNESS;
+    private void run(int firstLevel) {
+        simulation.setListener(this);
+        simulation.start(firstLevel);
+        simulation.snapshot(currentState);
+        previousState.copyFrom(currentState);
 
-        // Gravity and vertical movement
-        velocityY += GRAVITY;
-        double newPlayerY = playerY + velocityY;
-        playerRect = new Rectangle2D(playerX, newPlayerY, PLAYER_SIZE, PLAYER_SIZE);
-        boolean onPlatform = false;
+        gameLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse(now);
+            }
 
-        for (Rectangle2D platform : currentLevelData.getPlatforms()) {
-            if (playerRect.intersects(platform)) {
-                if (velocityY > 0 && playerY + PLAYER_SIZE <= platform.getMinY()) {
-                    playerY = platform.getMinY() - PLAYER_SIZE;
-                    velocityY = 0;
-                    isJumping = false;
-                    onPlatform = true;
-                } else if (velocityY < 0 && playerY >= platform.getMaxY()) {
-                    velocityY = 0;
-                    playerY = platform.getMaxY();
-                }
-                break;
+            @Override
+            public void start() {
+                // Never count the time spent stopped (level transitions) as simulation time
+                lastPulseTime = -1;
+                super.start();
             }
+        };
+        gameLoop.start();
+        gameCanvas.requestFocus();
+        System.out.println("Game started! Level: " + simulation.getLevelNumber());
+    }
+
+    /**
+     * Advance the simulation by as many fixed ticks as the elapsed time covers,
+     * then render interpolated between the last two tick states
+     */
+    private void pulse(long now) {
+        if (lastPulseTime < 0) {
+            lastPulseTime = now;
+            tickAccumulator = TICK_NANOS; // Run one tick on the first pulse
+        } else {
+            perf.getFrame().record(now - lastPulseTime);
+            tickAccumulator += now - lastPulseTime;
+            lastPulseTime = now;
         }
 
-        if (!onPlatform) {
-            playerY = newPlayerY;
+        int ticks = 0;
+        while (isRunning() && tickAccumulator >= TICK_NANOS && ticks < MAX_TICKS_PER_PULSE) {
+            long tickStart = System.nanoTime();
+            tick();
+            perf.getUpdate().record(System.nanoTime() - tickStart);
+            tickAccumulator -= TICK_NANOS;
+            ticks++;
         }
 
-        // Fall off the screen
-        if (playerY > gameCanvas.getHeight()) {
-            gameOver();
-            return;
+        // Too far behind: drop the backlog instead of trying to catch up forever
+        if (tickAccumulator >= TICK_NANOS) {
+            tickAccumulator %= TICK_NANOS;
         }
 
-        // Check collision with obstacles
-        for (Rectangle2D obstacle : currentLevelData.getObstacles()) {
-            if (playerRect.intersects(obstacle)) {
-                gameOver();
-                return;
-            }
+        long renderStart = System.nanoTime();
+        render((double) tickAccumulator / TICK_NANOS);
+        perf.getRender().record(System.nanoTime() - renderStart);
+
+        perfOverlay.frame(now);
+    }
+
+    private void tick() {
+        if (replay != null && !replay.next(input)) {
+            // The recorded run was abandoned at this point
+            System.out.println("Replay finished at tick " + simulation.getTick());
+            replay = null;
+            gameLoop.stop();
+            return;
+        }
+        applyReloadedLevels();
+        if (recording != null) {
+            recording.record(input);
         }
 
-        // Check if reached goal
-        if (currentLevelData.getGoal() != null && playerRect.intersects(currentLevelData.getGoal())) {
-            levelComplete();
+        previousState.copyFrom(currentState);
+        simulation.step(input);
+        input.setJump(false); // Jump requests are consumed by the tick
+        simulation.snapshot(currentState);
+
+        // Don't interpolate across a level change
+        if (currentState.getLevelNumber() != previousState.getLevelNumber()) {
+            previousState.copyFrom(currentState);
         }
     }
 
-    private void render() {
+    private boolean isRunning() {
+        return simulation != null && simulation.isRunning();
+    }
+
+    /**
+     * Render the world
+     * @param alpha Fraction of a tick elapsed since the last update (0-1), used for interpolation
+     */
+    private void render(double alpha) {
         gc.clearRect(0, 0, gameCanvas.getWidth(), gameCanvas.getHeight());
 
-        if (currentLevelData == null) return;
+        if (simulation == null) return;
 
-        // Draw background with parallax effect (scrolls slower than foreground)
-        if (backgroundImage != null) {
-            double bgScrollFactor = 0.5; // Background scrolls at half speed
-            double bgX = -cameraX * bgScrollFactor;
+        // Interpolated positions between the last two ticks
+        double cameraX = lerp(previousState.getCameraX(), currentState.getCameraX(), alpha);
+        double playerX = lerp(previousState.getPlayerX(), currentState.getPlayerX(), alpha);
+        double playerY = lerp(previousState.getPlayerY(), currentState.getPlayerY(), alpha);
 
-            // Tile the background if needed
-            int numTiles = (int) Math.ceil(gameCanvas.getWidth() / backgroundImage.getWidth()) + 2;
-            for (int i = 0; i < numTiles; i++) {
-                double tileX = (bgX % backgroundImage.getWidth()) + (i * backgroundImage.getWidth())
-                        - backgroundImage.getWidth();
-                gc.drawImage(backgroundImage, tileX, 0, backgroundImage.getWidth(), gameCanvas.getHeight());
-            }
+        // Draw background layers with parallax effect (scroll slower than foreground)
+        if (background != null) {
+            background.draw(gc, cameraX, gameCanvas.getWidth(), gameCanvas.getHeight());
         } else {
             gc.setFill(Color.CYAN);
             gc.fillRect(0, 0, gameCanvas.getWidth(), gameCanvas.getHeight());
         }
 
-        // Draw platforms (with camera offset)
-        gc.setFill(Color.GREEN);
-        for (Rectangle2D platform : currentLevelData.getPlatforms()) {
-            gc.fillRect(platform.getMinX() - cameraX, platform.getMinY(),
-                    platform.getWidth(), platform.getHeight());
-        }
-
-        // Draw obstacles (with camera offset)
-        gc.setFill(Color.RED);
-        for (Rectangle2D obstacle : currentLevelData.getObstacles()) {
-            gc.fillRect(obstacle.getMinX() - cameraX, obstacle.getMinY(),
-                    obstacle.getWidth(), obstacle.getHeight());
-        }
-
-        // Draw goal (with camera offset)
-        if (currentLevelData.getGoal() != null) {
-            Rectangle2D goal = currentLevelData.getGoal();
-            if (flagImage != null) {
-                gc.drawImage(flagImage, goal.getMinX() - cameraX, goal.getMinY(),
-                        goal.getWidth(), goal.getHeight());
-            } else {
-                gc.setFill(Color.YELLOW);
-                gc.fillRect(goal.getMinX() - cameraX, goal.getMinY(),
-                        goal.getWidth(), goal.getHeight());
-            }
-        }
+        // Draw platforms, obstacles and goal (with camera offset), from the tile cache
+        worldTiles.draw(gc, cameraX, gameCanvas.getWidth());
 
         // Draw player (relative to camera)
+        int avatarFrame = (int) (currentState.getTick() / AVATAR_SWAP_DELAY % avatarImages.length);
         if (avatarImages[avatarFrame] != null) {
             gc.drawImage(avatarImages[avatarFrame], playerX - cameraX, playerY,
-                    PLAYER_SIZE, PLAYER_SIZE);
+                    PlayerPhysics.PLAYER_SIZE, PlayerPhysics.PLAYER_SIZE);
         } else {
             gc.setFill(Color.BLUE);
-            gc.fillRect(playerX - cameraX, playerY, PLAYER_SIZE, PLAYER_SIZE);
-        }
-
-        // Animate avatar
-        avatarFrameCounter++;
-        if (avatarFrameCounter >= AVATAR_SWAP_DELAY) {
-            avatarFrameCounter = 0;
-            avatarFrame = (avatarFrame + 1) % 3;
+            gc.fillRect(playerX - cameraX, playerY, PlayerPhysics.PLAYER_SIZE, PlayerPhysics.PLAYER_SIZE);
         }
 
         // Draw HUD (fixed position, not affected by camera)
         gc.setFill(Color.BLACK);
         gc.setFont(javafx.scene.text.Font.font("Times New Roman", 20));
-        gc.fillText("Score: " + score + " | Level: " + currentLevelNumber, 10, 30);
+        gc.fillText("Score: " + currentState.getScore()
+                + (endless ? " | Endless" : " | Level: " + currentState.getLevelNumber()), 10, 30);
 
         // Optional: Draw player X position for debugging
         // gc.fillText("X: " + (int)playerX + " Camera: " + (int)cameraX, 10, 50);
+
+        perfOverlay.draw(gc, gameCanvas.getWidth());
     }
 
-    private void gameOver() {
-        gameRunning = false;
-        gameOverState = true;
+    private static double lerp(double from, double to, double alpha) {
+        return from + (to - from) * alpha;
+    }
+
+    @Override
+    public void onGameOver(Simulation simulation) {
         if (gameLoop != null) {
             gameLoop.stop();
         }
-        System.out.println("Game Over! Score: " + score);
-        showGameOverScreen();
+        System.out.println("Game Over! Score: " + simulation.getScore());
+        endRun();
+        showGameOverScreen(simulation.getScore());
     }
 
-    private void levelComplete() {
-        gameRunning = false;
-        if (gameLoop != null) {
+    @Override
+    public void onLevelComplete(Simulation simulation, int completedLevel) {
+        if (simulation.isRunning()) {
+            // Restart the loop so the time spent switching levels is not simulated
             gameLoop.stop();
-        }
-        score += 100;
-
-        if (currentLevelNumber < MAX_LEVELS) {
-            currentLevelNumber++;
-            loadLevel(currentLevelNumber);
-            // Continue to next level
-            gameRunning = true;
-            playerY = 300;
-            playerX = 100;
-            cameraX = 0;
-            targetCameraX = 0;
             gameLoop.start();
-        } else {
-            // Game completed
-            System.out.println("All Levels Complete! Final Score: " + score);
-            showGameOverScreen();
         }
     }
 
-    private void showGameOverScreen() {
+    @Override
+    public void onGameComplete(Simulation simulation) {
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        System.out.println("All Levels Complete! Final Score: " + simulation.getScore());
+        endRun();
+        showGameOverScreen(simulation.getScore());
+    }
+
+    /**
+     * Save the recording of a finished or abandoned run, or check a replay against its recording
+     */
+    private void endRun() {
+        if (replayOf != null) {
+            System.out.println(replayOf.matches(simulation)
+                    ? "Replay matches the recorded run"
+                    : "Replay diverged: recorded " + replayOf.getEndStatus() + " at tick " + replayOf.getEndTick()
+                            + " with score " + replayOf.getEndScore());
+            replayOf = null;
+        }
+        if (recording == null) return;
+
+        recording.finish(simulation);
+        String name = "run-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + InputRecording.EXTENSION;
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/GameOver.fxml"));
-            Scene gameOverScene = new Scene(loader.load(), 800, 600);
-            stage.setScene(gameOverScene);
+            Path dir = Paths.get(RECORDING_DIR);
+            Files.createDirectories(dir);
+            recording.save(dir.resolve(name));
+            System.out.println("Run recorded to " + dir.resolve(name));
+        } catch (IOException e) {
+            System.err.println("Error saving run recording: " + e.getMessage());
+        }
+        recording = null;
+    }
 
-            GameOverController controller = loader.getController();
-            controller.setStage(stage);
+    /**
+     * A loaded level with its resident chunks decoded and background decoded
+     */
+    private static class PreparedLevel {
+        final int levelNumber;
+        final LevelStreamer streamer;
+        final ParallaxBackground background;
+
+        PreparedLevel(int levelNumber, LevelStreamer streamer, ParallaxBackground background) {
+            this.levelNumber = levelNumber;
+            this.streamer = streamer;
+            this.background = background;
+        }
+    }
+
+    private void showGameOverScreen(int score) {
+        try {
+            GameOverController controller = SceneManager.getInstance().show(SceneManager.View.GAME_OVER);
             controller.setFinalScore(score);
             controller.setGameController(this);
         } catch (Exception e) {
@@ -406,40 +554,43 @@ public class GameController {
     }
 
     private void handleKeyPress(KeyEvent e) {
-        if (!gameRunning) return;
+        if (!isRunning()) return;
 
-        if (e.getCode() == KeyCode.W && !isJumping) {
-            isJumping = true;
-            velocityY = -20;
+        if (replay != null && (e.getCode() == KeyCode.W || e.getCode() == KeyCode.A || e.getCode() == KeyCode.D)) {
+            return; // Input comes from the recording
+        }
+        if (e.getCode() == KeyCode.W) {
+            input.setJump(true);
         } else if (e.getCode() == KeyCode.A) {
-            isMovingLeft = true;
+            input.setLeft(true);
         } else if (e.getCode() == KeyCode.D) {
-            isMovingRight = true;
+            input.setRight(true);
+        } else if (e.getCode() == KeyCode.F3) {
+            perfOverlay.toggle();
         } else if (e.getCode() == KeyCode.ESCAPE) {
             returnToMainMenu();
         }
     }
 
     private void handleKeyRelease(KeyEvent e) {
-        if (!gameRunning) return;
+        if (!isRunning() || replay != null) return;
 
         if (e.getCode() == KeyCode.A) {
-            isMovingLeft = false;
+            input.setLeft(false);
         } else if (e.getCode() == KeyCode.D) {
-            isMovingRight = false;
+            input.setRight(false);
         }
     }
 
     private void returnToMainMenu() {
+        if (simulation != null) {
+            endRun();
+        }
+        reset();
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/MainMenu.fxml"));
-            Scene menuScene = new Scene(loader.load(), 800, 600);
-            stage.setScene(menuScene);
-
-            MainMenuController controller = loader.getController();
-            controller.setStage(stage);
+            SceneManager.getInstance().show(SceneManager.View.MAIN_MENU);
         } catch (Exception e) {
             System.err.println("Error returning to main menu: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,14 @@
 package com.example.runner;
 
 import javafx.fxml.FXML;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Label;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 
 import java.util.Optional;
 
-public class GameOverController {
+public class GameOverController implements SceneController {
     @FXML private Label scoreLabel;
 
     private Stage stage;
@@ -21,6 +19,15 @@ public class GameOverController {
         this.stage = stage;
     }
 
+    /**
+     * Forget the previous game until the new one reports its score
+     */
+    @Override
+    public void onShow() {
+        gameController = null;
+        setFinalScore(0);
+    }
+
     public void setFinalScore(int score) {
         this.finalScore = score;
         scoreLabel.setText("Score: " + score);
@@ -40,14 +47,9 @@ public class GameOverController {
         System.out.println("Restart button clicked!");
 
         if (gameController != null) {
-            // Restart the game
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/Game.fxml"));
-            Scene gameScene = new Scene(loader.load(), 800, 600);
-            stage.setScene(gameScene);
-
-            GameController controller = loader.getController();
-            controller.setStage(stage);
-            controller.startGame();
+            // Restart the game, reusing the pooled game scene
+            GameController controller = SceneManager.getInstance().show(SceneManager.View.GAME);
+            controller.restart();
         } else {
             // Fallback: just start a new game
             handleMenu();
@@ -58,12 +60,7 @@ public class GameOverController {
     private void handleMenu() throws Exception {
         System.out.println("Menu button clicked!");
         // Return to main menu
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/MainMenu.fxml"));
-        Scene menuScene = new Scene(loader.load(), 800, 600);
-        stage.setScene(menuScene);
-
-        MainMenuController controller = loader.getController();
-        controller.setStage(stage);
+        SceneManager.getInstance().show(SceneManager.View.MAIN_MENU);
     }
 
     @FXML
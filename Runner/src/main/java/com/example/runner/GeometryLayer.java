@@ -0,0 +1,230 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays store for one layer of level geometry (platforms or obstacles).
+ * Boxes are kept as parallel primitive arrays so collision code can test them
+ * without boxing or allocating.
+ */
+public class GeometryLayer {
+    private static final int INITIAL_CAPACITY = 16;
+    // Subtrees of the x order index this small are scanned rather than descended
+    private static final int SCAN_SIZE = 16;
+
+    private double[] minX = new double[INITIAL_CAPACITY];
+    private double[] minY = new double[INITIAL_CAPACITY];
+    private double[] maxX = new double[INITIAL_CAPACITY];
+    private double[] maxY = new double[INITIAL_CAPACITY];
+    private int count;
+
+    // Box ids sorted by minX, for render culling (rebuilt by buildXOrder), with
+    // an implicit binary tree over that order holding the largest maxX below
+    // each node: node 1 is the root, node n has children 2n and 2n + 1, and
+    // the leaves start at xOrderLeaves
+    private int[] xOrder = new int[0];
+    private double[] xOrderMinX = new double[0];
+    private double[] xOrderMaxX = new double[2];
+    private int xOrderLeaves = 1;
+
+    private final List<Rectangle2D> view = new AbstractList<Rectangle2D>() {
+        @Override
+        public Rectangle2D get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            return new Rectangle2D(minX[index], minY[index],
+                    maxX[index] - minX[index], maxY[index] - minY[index]);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    };
+
+    public void add(double x, double y, double width, double height) {
+        ensureCapacity(count + 1);
+        minX[count] = x;
+        minY[count] = y;
+        maxX[count] = x + width;
+        maxY[count] = y + height;
+        count++;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > minX.length) {
+            int newCapacity = Math.max(capacity, minX.length * 2);
+            minX = Arrays.copyOf(minX, newCapacity);
+            minY = Arrays.copyOf(minY, newCapacity);
+            maxX = Arrays.copyOf(maxX, newCapacity);
+            maxY = Arrays.copyOf(maxY, newCapacity);
+        }
+    }
+
+    public double getMinX(int i) {
+        return minX[i];
+    }
+
+    public double getMinY(int i) {
+        return minY[i];
+    }
+
+    public double getMaxX(int i) {
+        return maxX[i];
+    }
+
+    public double getMaxY(int i) {
+        return maxY[i];
+    }
+
+    /**
+     * Same semantics as Rectangle2D.intersects: touching edges do not count
+     */
+    public boolean intersects(int i, Aabb box) {
+        return box.intersects(minX[i], minY[i], maxX[i], maxY[i]);
+    }
+
+    /**
+     * Largest maxX in the layer, or 0 if empty
+     */
+    public double getExtentX() {
+        double extent = 0;
+        for (int i = 0; i < count; i++) {
+            extent = Math.max(extent, maxX[i]);
+        }
+        return extent;
+    }
+
+    public void buildIndex(SpatialGrid index) {
+        index.build(minX, minY, maxX, maxY, count);
+    }
+
+    /**
+     * Sort box ids by minX and index their maxX, so the boxes overlapping an
+     * x range can be found without scanning the boxes that end before it,
+     * however wide some boxes are. Call after the layer is fully populated.
+     */
+    public void buildXOrder() {
+        if (xOrder.length < count) {
+            xOrder = new int[minX.length];
+            xOrderMinX = new double[minX.length];
+        }
+        for (int i = 0; i < count; i++) {
+            xOrder[i] = i;
+        }
+        sortByMinX(0, count - 1);
+        for (int k = 0; k < count; k++) {
+            xOrderMinX[k] = minX[xOrder[k]];
+        }
+
+        xOrderLeaves = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+        if (xOrderMaxX.length < 2 * xOrderLeaves) {
+            xOrderMaxX = new double[2 * xOrderLeaves];
+        }
+        for (int k = 0; k < xOrderLeaves; k++) {
+            xOrderMaxX[xOrderLeaves + k] = k < count ? maxX[xOrder[k]] : Double.NEGATIVE_INFINITY;
+        }
+        for (int node = xOrderLeaves - 1; node >= 1; node--) {
+            xOrderMaxX[node] = Math.max(xOrderMaxX[2 * node], xOrderMaxX[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Collect the ids of the boxes overlapping the x range, in x order.
+     * Requires buildXOrder().
+     */
+    public void queryXRange(double rangeMinX, double rangeMaxX, SpatialGrid.Hits hits) {
+        hits.clear();
+        if (count > 0) {
+            collect(1, 0, xOrderLeaves, lowerBound(rangeMaxX), rangeMinX, hits);
+        }
+    }
+
+    // Boxes below the node, covering x order [first, first + size), that start
+    // before position end and reach rangeMinX
+    private void collect(int node, int first, int size, int end, double rangeMinX, SpatialGrid.Hits hits) {
+        if (first >= end || xOrderMaxX[node] < rangeMinX) {
+            return;
+        }
+        if (size <= SCAN_SIZE) {
+            int last = Math.min(first + size, end);
+            for (int k = first; k < last; k++) {
+                int i = xOrder[k];
+                if (maxX[i] >= rangeMinX) {
+                    hits.add(i);
+                }
+            }
+            return;
+        }
+        int half = size >>> 1;
+        collect(2 * node, first, half, end, rangeMinX, hits);
+        collect(2 * node + 1, first + half, half, end, rangeMinX, hits);
+    }
+
+    private int lowerBound(double x) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xOrderMinX[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Quicksort of xOrder keyed on minX (avoids boxing the ids for a Comparator)
+    private void sortByMinX(int lo, int hi) {
+        while (hi - lo > 16) {
+            double pivot = minX[xOrder[(lo + hi) >>> 1]];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (minX[xOrder[i]] < pivot) i++;
+                while (minX[xOrder[j]] > pivot) j--;
+                if (i <= j) {
+                    int tmp = xOrder[i];
+                    xOrder[i++] = xOrder[j];
+                    xOrder[j--] = tmp;
+                }
+            }
+            // Recurse into the smaller half to bound the stack depth
+            if (j - lo < hi - i) {
+                sortByMinX(lo, j);
+                lo = i;
+            } else {
+                sortByMinX(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            int id = xOrder[i];
+            int j = i - 1;
+            while (j >= lo && minX[xOrder[j]] > minX[id]) {
+                xOrder[j + 1] = xOrder[j];
+                j--;
+            }
+            xOrder[j + 1] = id;
+        }
+    }
+
+    /**
+     * Read-only Rectangle2D view, for the editor and serialization.
+     * Each get() creates a new Rectangle2D, so keep it off the per-tick path.
+     */
+    public List<Rectangle2D> asList() {
+        return view;
+    }
+}
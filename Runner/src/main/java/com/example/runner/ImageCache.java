@@ -0,0 +1,150 @@
+package com.example.runner;
+
+import javafx.scene.image.Image;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Application-wide cache of decoded images, shared by all scenes.
+ * Entries are keyed by resource path and requested size, cost roughly
+ * 4 bytes per pixel, and are evicted least-recently-used first once the
+ * byte budget is exceeded. Safe to use from background threads.
+ */
+public final class ImageCache {
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    // Budget can be tuned with -Drunner.imageCache.budget=<bytes>
+    private static final ImageCache INSTANCE =
+            new ImageCache(Long.getLong("runner.imageCache.budget", DEFAULT_BUDGET_BYTES));
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long budgetBytes;
+    private long usedBytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    ImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Image at its natural size
+     */
+    public Image get(String resourcePath) {
+        return get(resourcePath, 0, 0);
+    }
+
+    /**
+     * Image decoded to the requested size (0 keeps the natural size of that dimension)
+     * @return the image, or null if the resource does not exist or cannot be decoded
+     */
+    public Image get(String resourcePath, double requestedWidth, double requestedHeight) {
+        String key = resourcePath + "@" + requestedWidth + "x" + requestedHeight;
+        synchronized (this) {
+            Image cached = images.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Decode outside the lock so a large image does not block other callers
+        Image image = load(resourcePath, requestedWidth, requestedHeight);
+        if (image == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            Image raced = images.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            images.put(key, image);
+            usedBytes += sizeOf(image);
+            evict();
+        }
+        return image;
+    }
+
+    private Image load(String resourcePath, double requestedWidth, double requestedHeight) {
+        try (InputStream is = ImageCache.class.getResourceAsStream(resourcePath)) {
+            if (is == null) {
+                System.err.println("Could not find image: " + resourcePath);
+                return null;
+            }
+            Image image = new Image(is, requestedWidth, requestedHeight, false, true);
+            if (image.isError()) {
+                System.err.println("Error loading image " + resourcePath + ": " + image.getException());
+                return null;
+            }
+            return image;
+        } catch (Exception e) {
+            System.err.println("Error loading image " + resourcePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        // Always keep the most recent entry, even if it alone exceeds the budget
+        while (usedBytes > budgetBytes && images.size() > 1 && it.hasNext()) {
+            usedBytes -= sizeOf(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+    }
+
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evict();
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ImageCache[%d images, %d/%d KB, hits=%d, misses=%d, evictions=%d]",
+                images.size(), usedBytes / 1024, budgetBytes / 1024, hits, misses, evictions);
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The input of every tick of a run, run-length encoded: consecutive ticks
+ * with the same InputState bits are stored once with their count. Replaying
+ * it through a Simulation set up the same way reproduces the run exactly.
+ *
+ * File format (.rrec, big-endian):
+ * <pre>
+ *  int magic "RREC", byte version
+ *  varint firstLevel, double viewWidth, double worldHeight
+ *  varint runCount, runCount x (varint bits, varint tickCount)
+ *  varlong endTick, varint endStatus (Simulation.Status ordinal), varint endScore
+ * </pre>
+ * The end fields describe the recorded outcome, so a replay can check
+ * that it ended the same way.
+ */
+public class InputRecording {
+    public static final int MAGIC = 0x52524543; // "RREC"
+    // Also bumped when PlayerPhysics changes outcomes, since older runs would
+    // replay differently. 2: swept collision
+    public static final int VERSION = 2;
+    public static final String EXTENSION = ".rrec";
+
+    private final int firstLevel;
+    private final double viewWidth;
+    private final double worldHeight;
+
+    private int[] runBits = new int[64];
+    private int[] runLengths = new int[64];
+    private int runCount;
+    private long tickCount;
+
+    private long endTick = -1;
+    private Simulation.Status endStatus = Simulation.Status.STOPPED;
+    private int endScore;
+
+    public InputRecording(int firstLevel, double viewWidth, double worldHeight) {
+        this.firstLevel = firstLevel;
+        this.viewWidth = viewWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    /**
+     * Append the input of the next tick
+     */
+    public void record(InputState input) {
+        int bits = input.getBits();
+        if (runCount > 0 && runBits[runCount - 1] == bits && runLengths[runCount - 1] < Integer.MAX_VALUE) {
+            runLengths[runCount - 1]++;
+            tickCount++;
+        } else {
+            appendRun(bits, 1);
+        }
+    }
+
+    private void appendRun(int bits, int length) {
+        if (runCount == runBits.length) {
+            runBits = Arrays.copyOf(runBits, runCount * 2);
+            runLengths = Arrays.copyOf(runLengths, runCount * 2);
+        }
+        runBits[runCount] = bits;
+        runLengths[runCount] = length;
+        runCount++;
+        tickCount += length;
+    }
+
+    /**
+     * Note how the recorded run ended
+     */
+    public void finish(Simulation simulation) {
+        endTick = simulation.getTick();
+        endStatus = simulation.getStatus();
+        endScore = simulation.getScore();
+    }
+
+    /**
+     * Simulation set up like the recorded one (not started yet)
+     */
+    public Simulation createSimulation(Simulation.LevelProvider levels) {
+        return new Simulation(levels, viewWidth, worldHeight);
+    }
+
+    /**
+     * A new reader positioned at the first tick
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public int getFirstLevel() {
+        return firstLevel;
+    }
+
+    public double getViewWidth() {
+        return viewWidth;
+    }
+
+    public double getWorldHeight() {
+        return worldHeight;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public long getEndTick() {
+        return endTick;
+    }
+
+    public Simulation.Status getEndStatus() {
+        return endStatus;
+    }
+
+    public int getEndScore() {
+        return endScore;
+    }
+
+    /**
+     * Whether the simulation ended the way the recorded run did
+     */
+    public boolean matches(Simulation simulation) {
+        return simulation.getTick() == endTick && simulation.getStatus() == endStatus
+                && simulation.getScore() == endScore;
+    }
+
+    /**
+     * Plays the recorded inputs back one tick at a time
+     */
+    public class Cursor {
+        private int run;
+        private int usedInRun;
+
+        /**
+         * Load the next tick's input
+         * @return false (leaving input untouched) once the recording is exhausted
+         */
+        public boolean next(InputState input) {
+            while (run < runCount && usedInRun == runLengths[run]) {
+                run++;
+                usedInRun = 0;
+            }
+            if (run == runCount) return false;
+            input.setBits(runBits[run]);
+            usedInRun++;
+            return true;
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        try (OutputStream os = Files.newOutputStream(file)) {
+            write(os);
+        }
+    }
+
+    public void write(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeVarLong(out, firstLevel);
+        out.writeDouble(viewWidth);
+        out.writeDouble(worldHeight);
+        writeVarLong(out, runCount);
+        for (int i = 0; i < runCount; i++) {
+            writeVarLong(out, runBits[i]);
+            writeVarLong(out, runLengths[i]);
+        }
+        writeVarLong(out, endTick + 1); // -1 (not finished) stored as 0
+        writeVarLong(out, endStatus.ordinal());
+        writeVarLong(out, endScore);
+        out.flush();
+    }
+
+    public static InputRecording load(Path file) throws IOException {
+        try (InputStream is = Files.newInputStream(file)) {
+            return read(is);
+        }
+    }
+
+    public static InputRecording read(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input recording version: " + version);
+        }
+
+        InputRecording recording = new InputRecording((int) readVarLong(in), in.readDouble(), in.readDouble());
+        long runs = readVarLong(in);
+        for (long i = 0; i < runs; i++) {
+            int bits = (int) readVarLong(in);
+            long length = readVarLong(in);
+            if (length < 1 || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid run length: " + length);
+            }
+            recording.appendRun(bits, (int) length);
+        }
+
+        recording.endTick = readVarLong(in) - 1;
+        int status = (int) readVarLong(in);
+        Simulation.Status[] statuses = Simulation.Status.values();
+        if (status >= statuses.length) {
+            throw new IOException("Invalid end status: " + status);
+        }
+        recording.endStatus = statuses[status];
+        recording.endScore = (int) readVarLong(in);
+        return recording;
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last byte
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Truncated input recording");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint in input recording");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.runner;
+
+/**
+ * Player input for one simulation tick, packed into a bit set so it can be
+ * recorded and replayed cheaply. Jump is a request: it is applied on the next
+ * tick and the caller clears it afterwards.
+ */
+public class InputState {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int JUMP = 1 << 2;
+
+    private int bits;
+
+    public InputState() {
+    }
+
+    public InputState(int bits) {
+        this.bits = bits;
+    }
+
+    public boolean isLeft() {
+        return (bits & LEFT) != 0;
+    }
+
+    public boolean isRight() {
+        return (bits & RIGHT) != 0;
+    }
+
+    public boolean isJump() {
+        return (bits & JUMP) != 0;
+    }
+
+    public void setLeft(boolean left) {
+        set(LEFT, left);
+    }
+
+    public void setRight(boolean right) {
+        set(RIGHT, right);
+    }
+
+    public void setJump(boolean jump) {
+        set(JUMP, jump);
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public void setBits(int bits) {
+        this.bits = bits;
+    }
+
+    public void clear() {
+        bits = 0;
+    }
+
+    private void set(int flag, boolean value) {
+        if (value) {
+            bits |= flag;
+        } else {
+            bits &= ~flag;
+        }
+    }
+}
@@ -1,22 +1,55 @@
 package com.example.runner;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.stage.Stage;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class JavaFXRunner extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/MainMenu.fxml"));
-        Scene scene = new Scene(loader.load(), 800, 600);
+        // Scenes are loaded once and reused for every navigation
+        SceneManager scenes = SceneManager.init(primaryStage);
         primaryStage.setTitle("Runner Game");
-        primaryStage.setScene(scene);
+        scenes.show(SceneManager.View.MAIN_MENU);
         primaryStage.show();
 
-        // Pass stage to controller
-        MainMenuController controller = loader.getController();
-        controller.setStage(primaryStage);
+        // Warm the game screens after the menu is up
+        Platform.runLater(() -> scenes.warmUp(SceneManager.View.GAME, SceneManager.View.GAME_OVER));
+
+        // Real-time replay of a recorded run, with -Drunner.replay=<file.rrec>
+        String replay = System.getProperty("runner.replay");
+        if (replay != null) {
+            Platform.runLater(() -> startReplay(scenes, Path.of(replay)));
+        }
+    }
+
+    private void startReplay(SceneManager scenes, Path file) {
+        try {
+            InputRecording recording = InputRecording.load(file);
+            GameController controller = scenes.show(SceneManager.View.GAME);
+            controller.startReplay(recording);
+        } catch (IOException e) {
+            System.err.println("Error starting replay of " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Hit/miss/eviction counters, for tuning the cache budget
+        System.out.println(ImageCache.getInstance());
+
+        // Frame/update/render/level-load histograms, with -Drunner.perf.dump=<file>
+        String perfDump = System.getProperty("runner.perf.dump");
+        if (perfDump != null) {
+            try {
+                PerfMonitor.getInstance().dump(Path.of(perfDump));
+                System.out.println("Performance histograms written to " + perfDump);
+            } catch (IOException e) {
+                System.err.println("Error writing performance histograms: " + e.getMessage());
+            }
+        }
     }
 
     public static void main(String[] args) {
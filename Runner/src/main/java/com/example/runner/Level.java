@@ -2,6 +2,7 @@ package com.example.runner;
 
 import javafx.geometry.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,23 +11,24 @@ import java.util.List;
 public class Level {
     private int levelId;
     private String backgroundPath;
-    private List<Rectangle2D> platforms;
-    private List<Rectangle2D> obstacles;
+    private final List<BackgroundLayer> backgroundLayers = new ArrayList<>(); // Back to front
+    private final GeometryLayer platforms = new GeometryLayer();
+    private final GeometryLayer obstacles = new GeometryLayer();
     private Rectangle2D goal;
     private double levelWidth; // Total width of the level for camera bounds
     private String levelName;
 
+    // Broadphase indices, built once the level is fully loaded
+    private final SpatialGrid platformIndex = new SpatialGrid();
+    private final SpatialGrid obstacleIndex = new SpatialGrid();
+
     public Level() {
-        this.platforms = new ArrayList<>();
-        this.obstacles = new ArrayList<>();
     }
 
     public Level(int levelId, String backgroundPath, String levelName) {
         this.levelId = levelId;
         this.backgroundPath = backgroundPath;
         this.levelName = levelName;
-        this.platforms = new ArrayList<>();
-        this.obstacles = new ArrayList<>();
     }
 
     // Getters and setters
@@ -46,20 +48,51 @@ public class Level {
         this.backgroundPath = backgroundPath;
     }
 
+    /**
+     * Parallax layers, back to front. Empty for levels with a single
+     * backgroundPath image.
+     */
+    public List<BackgroundLayer> getBackgroundLayers() {
+        return Collections.unmodifiableList(backgroundLayers);
+    }
+
+    public void setBackgroundLayers(List<BackgroundLayer> backgroundLayers) {
+        this.backgroundLayers.clear();
+        this.backgroundLayers.addAll(backgroundLayers);
+    }
+
+    public void addBackgroundLayer(String path, double parallax) {
+        backgroundLayers.add(new BackgroundLayer(path, parallax));
+    }
+
+    /**
+     * Read-only view of the platforms (see getPlatformLayer() for the collision path)
+     */
     public List<Rectangle2D> getPlatforms() {
-        return platforms;
+        return platforms.asList();
     }
 
     public void setPlatforms(List<Rectangle2D> platforms) {
-        this.platforms = platforms;
+        setLayer(this.platforms, platforms);
     }
 
+    /**
+     * Read-only view of the obstacles (see getObstacleLayer() for the collision path)
+     */
     public List<Rectangle2D> getObstacles() {
-        return obstacles;
+        return obstacles.asList();
     }
 
     public void setObstacles(List<Rectangle2D> obstacles) {
-        this.obstacles = obstacles;
+        setLayer(this.obstacles, obstacles);
+    }
+
+    public GeometryLayer getPlatformLayer() {
+        return platforms;
+    }
+
+    public GeometryLayer getObstacleLayer() {
+        return obstacles;
     }
 
     public Rectangle2D getGoal() {
@@ -88,23 +121,63 @@ public class Level {
 
     // Helper methods
     public void addPlatform(double x, double y, double width, double height) {
-        platforms.add(new Rectangle2D(x, y, width, height));
+        platforms.add(x, y, width, height);
     }
 
     public void addObstacle(double x, double y, double width, double height) {
-        obstacles.add(new Rectangle2D(x, y, width, height));
+        obstacles.add(x, y, width, height);
     }
 
+    /**
+     * Remove all platforms and obstacles, keeping the allocated storage
+     */
+    public void clearGeometry() {
+        platforms.clear();
+        obstacles.clear();
+    }
+
+    private static void setLayer(GeometryLayer layer, List<Rectangle2D> rects) {
+        layer.clear();
+        layer.ensureCapacity(rects.size());
+        for (Rectangle2D rect : rects) {
+            layer.add(rect.getMinX(), rect.getMinY(), rect.getWidth(), rect.getHeight());
+        }
+    }
+
+    /**
+     * Build the spatial indices used for collision queries and render culling.
+     * Must be called again if platforms or obstacles change afterwards.
+     */
+    public void buildSpatialIndex() {
+        platforms.buildIndex(platformIndex);
+        obstacles.buildIndex(obstacleIndex);
+        platforms.buildXOrder();
+        obstacles.buildXOrder();
+    }
+
+    /**
+     * Spatial index over platforms; ids are indices into getPlatformLayer()
+     */
+    public SpatialGrid getPlatformIndex() {
+        return platformIndex;
+    }
+
+    /**
+     * Spatial index over obstacles; ids are indices into getObstacleLayer()
+     */
+    public SpatialGrid getObstacleIndex() {
+        return obstacleIndex;
+    }
+
+    /**
+     * Width from the geometry currently in the level. A streamed level only
+     * holds its resident chunks, so its width comes from the ChunkSource instead.
+     */
     public void calculateLevelWidth() {
         double maxX = 0;
         
-        for (Rectangle2D platform : platforms) {
-            maxX = Math.max(maxX, platform.getMaxX());
-        }
-        
-        for (Rectangle2D obstacle : obstacles) {
-            maxX = Math.max(maxX, obstacle.getMaxX());
-        }
+        maxX = Math.max(maxX, platforms.getExtentX());
+        maxX = Math.max(maxX, obstacles.getExtentX());
         
         if (goal != null) {
             maxX = Math.max(maxX, goal.getMaxX());
@@ -0,0 +1,205 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts levels (custom JSON or Tiled JSON) into the compiled binary
+ * format read by CompiledLevel.
+ *
+ * Usage: LevelCompiler level1.json [level2.json ...]
+ * writes level1.rlvl etc. next to each input. Copy the results into
+ * src/main/resources/com/example/runner/levels/ and the game will load
+ * them instead of the JSON files.
+ */
+public class LevelCompiler {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: LevelCompiler <level.json> [<level.json> ...]");
+            System.exit(2);
+        }
+
+        LevelLoader loader = new LevelLoader();
+        int failures = 0;
+        for (String arg : args) {
+            Path input = Paths.get(arg);
+            Path output = compiledPath(input);
+            try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                Level level = loader.parseLevel(reader);
+                write(level, output);
+                System.out.println("Compiled " + input + " -> " + output);
+            } catch (Exception e) {
+                System.err.println("Error compiling " + input + ": " + e.getMessage());
+                failures++;
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * levelN.json -> levelN.rlvl in the same directory
+     */
+    public static Path compiledPath(Path jsonPath) {
+        String name = jsonPath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return jsonPath.resolveSibling(base + CompiledLevel.EXTENSION);
+    }
+
+    public static void write(Level level, Path output) throws IOException {
+        write(level, output, LevelStreamer.DEFAULT_CHUNK_WIDTH);
+    }
+
+    public static void write(Level level, Path output, double chunkWidth) throws IOException {
+        ByteBuffer buf = encode(level, chunkWidth);
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        }
+    }
+
+    /**
+     * Encode a level into a buffer in the compiled format
+     */
+    public static ByteBuffer encode(Level level, double chunkWidth) {
+        // Reorder the geometry by chunk, reusing the streaming chunker
+        PackedChunkSource source = new PackedChunkSource(level, chunkWidth);
+        int chunkCount = source.getChunkCount();
+        Level ordered = new Level();
+        int[] platformStart = new int[chunkCount + 1];
+        int[] obstacleStart = new int[chunkCount + 1];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            // Only the boxes each chunk owns; continuations are written separately
+            source.decodeChunk(chunk, false, ordered);
+            platformStart[chunk + 1] = ordered.getPlatformLayer().size();
+            obstacleStart[chunk + 1] = ordered.getObstacleLayer().size();
+        }
+        ChunkContinuations platformContinuations = continuations(ordered.getPlatformLayer(), platformStart, chunkWidth);
+        ChunkContinuations obstacleContinuations = continuations(ordered.getObstacleLayer(), obstacleStart, chunkWidth);
+
+        // String table
+        List<byte[]> strings = new ArrayList<>();
+        int levelNameIndex = addString(strings, level.getLevelName());
+        int backgroundIndex = addString(strings, level.getBackgroundPath());
+        List<BackgroundLayer> backgroundLayers = level.getBackgroundLayers();
+        int[] layerPathIndex = new int[backgroundLayers.size()];
+        for (int i = 0; i < layerPathIndex.length; i++) {
+            layerPathIndex[i] = addString(strings, backgroundLayers.get(i).getPath());
+        }
+        int stringBytes = 0;
+        for (byte[] string : strings) {
+            stringBytes += Integer.BYTES + string.length;
+        }
+
+        int size = CompiledLevel.HEADER_SIZE + align(stringBytes) + 8 + 16 * backgroundLayers.size()
+                + layerSize(ordered.getPlatformLayer().size(), chunkCount, platformContinuations)
+                + layerSize(ordered.getObstacleLayer().size(), chunkCount, obstacleContinuations);
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Header
+        Rectangle2D goal = level.getGoal();
+        buf.putInt(CompiledLevel.MAGIC);
+        buf.putInt(CompiledLevel.VERSION);
+        buf.putInt(level.getLevelId());
+        buf.putInt(chunkCount);
+        buf.putDouble(chunkWidth);
+        buf.putDouble(level.getLevelWidth());
+        buf.putDouble(0); // maxObjectWidth, unused since version 3
+        buf.putInt(goal != null ? CompiledLevel.FLAG_HAS_GOAL : 0);
+        buf.putInt(strings.size());
+        buf.putDouble(goal != null ? goal.getMinX() : 0);
+        buf.putDouble(goal != null ? goal.getMinY() : 0);
+        buf.putDouble(goal != null ? goal.getWidth() : 0);
+        buf.putDouble(goal != null ? goal.getHeight() : 0);
+        buf.putInt(levelNameIndex);
+        buf.putInt(backgroundIndex);
+
+        for (byte[] string : strings) {
+            buf.putInt(string.length);
+            buf.put(string);
+        }
+        CompiledLevel.align(buf);
+
+        buf.putInt(backgroundLayers.size());
+        buf.putInt(0);
+        for (int i = 0; i < layerPathIndex.length; i++) {
+            buf.putInt(layerPathIndex[i]);
+            buf.putInt(0);
+            buf.putDouble(backgroundLayers.get(i).getParallax());
+        }
+
+        writeLayer(buf, ordered.getPlatformLayer(), platformStart, platformContinuations);
+        writeLayer(buf, ordered.getObstacleLayer(), obstacleStart, obstacleContinuations);
+
+        buf.flip();
+        return buf;
+    }
+
+    private static int addString(List<byte[]> strings, String value) {
+        if (value == null) {
+            return -1;
+        }
+        strings.add(value.getBytes(StandardCharsets.UTF_8));
+        return strings.size() - 1;
+    }
+
+    private static ChunkContinuations continuations(GeometryLayer layer, int[] chunkStart, double chunkWidth) {
+        double[] maxX = new double[layer.size()];
+        for (int i = 0; i < maxX.length; i++) {
+            maxX[i] = layer.getMaxX(i);
+        }
+        return ChunkContinuations.of(chunkStart, maxX, chunkWidth);
+    }
+
+    private static int layerSize(int count, int chunkCount, ChunkContinuations continuations) {
+        int ints = 1 + (chunkCount + 1) + 1 + (chunkCount + 1) + continuations.boxes.length;
+        return align(Integer.BYTES * ints) + count * 4 * Double.BYTES;
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private static void writeLayer(ByteBuffer buf, GeometryLayer layer, int[] chunkStart,
+                                   ChunkContinuations continuations) {
+        int count = layer.size();
+        buf.putInt(count);
+        for (int start : chunkStart) {
+            buf.putInt(start);
+        }
+        buf.putInt(continuations.boxes.length);
+        for (int start : continuations.start) {
+            buf.putInt(start);
+        }
+        for (int box : continuations.boxes) {
+            buf.putInt(box);
+        }
+        CompiledLevel.align(buf);
+        for (int i = 0; i < count; i++) {
+            buf.putDouble(layer.getMinX(i));
+        }
+        for (int i = 0; i < count; i++) {
+            buf.putDouble(layer.getMinY(i));
+        }
+        for (int i = 0; i < count; i++) {
+            buf.putDouble(layer.getMaxX(i) - layer.getMinX(i));
+        }
+        for (int i = 0; i < count; i++) {
+            buf.putDouble(layer.getMaxY(i) - layer.getMinY(i));
+        }
+    }
+}
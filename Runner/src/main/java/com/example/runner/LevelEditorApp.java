@@ -6,13 +6,14 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 public class LevelEditorApp extends Application {
+    private LevelEditorController controller;
 
     @Override
     public void start(Stage primaryStage) throws Exception {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/LevelEditor.fxml"));
         Scene scene = new Scene(loader.load(), 1200, 700);
 
-        LevelEditorController controller = loader.getController();
+        controller = loader.getController();
         controller.setStage(primaryStage);
 
         primaryStage.setTitle("Runner Game - Level Editor");
@@ -20,6 +21,14 @@ public class LevelEditorApp extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        // Flush the last autosave before the JVM exits
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
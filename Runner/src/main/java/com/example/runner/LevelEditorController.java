@@ -1,26 +1,62 @@
 package com.example.runner;
 
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseButton;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import java.io.File;
-import java.io.FileWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 // Visual Level Editor for creating game levels
 
 public class LevelEditorController {
+    // Padding around an object's bounds that covers the selection outline and antialiasing
+    private static final double PAINT_MARGIN = 3;
+    private static final int DEFAULT_GRID_SIZE = 10;
+    // Keeps the grid cell image small while the size is being typed
+    private static final int MAX_GRID_SIZE = 1000;
+    private static final Color BACKGROUND_COLOR = Color.LIGHTGRAY;
+    private static final Color GRID_COLOR = Color.rgb(200, 200, 200);
+    // Grid lines closer than this on screen are not drawn
+    private static final double MIN_GRID_SPACING = 4;
+
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 4;
+    private static final double ZOOM_STEP = 1.1;
+
+    // Autosave interval can be tuned with -Drunner.editor.autosaveSeconds=<seconds> (0 disables)
+    private static final int AUTOSAVE_SECONDS = Integer.getInteger("runner.editor.autosaveSeconds", 30);
+    private static final Comparator<EditorObject> BY_ORDER = Comparator.comparingInt(o -> o.order);
+
     @FXML private Canvas editorCanvas;
-    @FXML private ScrollPane canvasScrollPane;
+    @FXML private Pane canvasPane;
+    @FXML private ScrollBar horizontalScrollBar;
+    @FXML private ScrollBar verticalScrollBar;
     @FXML private TextField levelIdField;
     @FXML private TextField levelNameField;
     @FXML private ToggleGroup toolGroup;
@@ -45,8 +81,26 @@ public class LevelEditorController {
     private Level currentLevel;
     private LevelLoader levelLoader;
 
+    // Saving: revision counts edits, autosavedRevision is the last one handed to the saver
+    private LevelSaver levelSaver;
+    private Timeline autosaveTimer;
+    private Path currentFile;
+    private int revision;
+    private int autosavedRevision;
+    private boolean shutDown;
+
+    // Solvability check of the last save; a newer save cancels it. Smaller budget
+    // than the command line solver, a save should not tie up hundreds of MB.
+    private static final int SAVE_CHECK_MAX_STATES = 1_000_000;
+    private LevelSolver solvabilityCheck;
+    private int checkedRevision;
+
     // Editor state
     private List<EditorObject> editorObjects;
+    // Indexed by painted bounds (including the label), for hit-testing and partial repaints
+    private SpatialHash<EditorObject> objectIndex;
+    private final List<EditorObject> visibleObjects = new ArrayList<>();
+    private int nextOrder;
     private EditorObject selectedObject;
     private EditorObject draggedObject;
     private double dragStartX, dragStartY;
@@ -54,9 +108,36 @@ public class LevelEditorController {
     private boolean isDragging = false;
     private boolean isDrawingNew = false;
     private double drawStartX, drawStartY;
-
-    private int gridSize = 10;
+    private double drawCurrentX, drawCurrentY;
+
+    // Viewport: the canvas is only as large as the window and shows the world
+    // from (cameraX, cameraY) at the given zoom (screen pixels per world unit)
+    private double cameraX, cameraY;
+    private double zoom = 1;
+    // Furthest object edges, bounding the scroll range
+    private double contentMaxX, contentMaxY;
+    // Scrollable even when empty: at least the old fixed canvas, or one screen
+    private static final double MIN_WORLD_WIDTH = 2000;
+    private static final double MIN_WORLD_HEIGHT = 600;
+    private boolean updatingScrollBars;
+    private final int[] objectCounts = new int[ObjectType.values().length];
+
+    // Canvas area (screen pixels) waiting to be repainted, empty while dirtyMinX > dirtyMaxX
+    private double dirtyMinX = Double.MAX_VALUE, dirtyMinY = Double.MAX_VALUE;
+    private double dirtyMaxX = -Double.MAX_VALUE, dirtyMaxY = -Double.MAX_VALUE;
+
+    // Extent of the widest type label, measured from the label origin
+    private double labelWidth, labelBottom;
+
+    // Input handlers only mark regions dirty; the timer repaints once on the next pulse
+    private AnimationTimer repaintTimer;
+    private boolean repaintScheduled;
+    private boolean selectionInfoDirty;
+
+    private int gridSize = DEFAULT_GRID_SIZE;
     private boolean showGrid = true;
+    // One grid cell, tiled across the canvas (rebuilt when the grid size changes)
+    private ImagePattern gridPattern;
 
     private Stage stage;
 
@@ -68,7 +149,9 @@ public class LevelEditorController {
     public void initialize() {
         gc = editorCanvas.getGraphicsContext2D();
         editorObjects = new ArrayList<>();
+        objectIndex = new SpatialHash<>();
         levelLoader = new LevelLoader();
+        levelSaver = new LevelSaver();
         currentLevel = new Level(1, "/com/example/runner/background.png", "New Level");
 
         // Setup mouse handlers
@@ -76,19 +159,62 @@ public class LevelEditorController {
         editorCanvas.setOnMouseDragged(this::handleMouseDragged);
         editorCanvas.setOnMouseReleased(this::handleMouseReleased);
         editorCanvas.setOnMouseMoved(this::handleMouseMoved);
+        editorCanvas.setOnScroll(this::handleScroll);
+
+        // The canvas follows the viewport size, never the level size
+        editorCanvas.widthProperty().bind(canvasPane.widthProperty());
+        editorCanvas.heightProperty().bind(canvasPane.heightProperty());
+        editorCanvas.widthProperty().addListener((obs, oldValue, newValue) -> render());
+        editorCanvas.heightProperty().addListener((obs, oldValue, newValue) -> render());
+        horizontalScrollBar.valueProperty().addListener((obs, oldValue, newValue) -> {
+            if (!updatingScrollBars) setCamera(newValue.doubleValue(), cameraY);
+        });
+        verticalScrollBar.valueProperty().addListener((obs, oldValue, newValue) -> {
+            if (!updatingScrollBars) setCamera(cameraX, newValue.doubleValue());
+        });
+
+        repaintTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse();
+            }
+        };
+
+        gridSizeField.textProperty().addListener((obs, oldValue, newValue) -> updateGridSize());
+        updateGridSize();
+
+        levelIdField.textProperty().addListener((obs, oldValue, newValue) -> markModified());
+        levelNameField.textProperty().addListener((obs, oldValue, newValue) -> markModified());
+        backgroundPathField.textProperty().addListener((obs, oldValue, newValue) -> markModified());
+
+        if (AUTOSAVE_SECONDS > 0) {
+            autosaveTimer = new Timeline(new KeyFrame(Duration.seconds(AUTOSAVE_SECONDS), e -> autosave()));
+            autosaveTimer.setCycleCount(Timeline.INDEFINITE);
+            autosaveTimer.play();
+        }
+
+        for (ObjectType type : ObjectType.values()) {
+            Text text = new Text(type.toString());
+            text.setFont(gc.getFont());
+            labelWidth = Math.max(labelWidth, text.getLayoutBounds().getWidth());
+            labelBottom = Math.max(labelBottom, 15 + text.getLayoutBounds().getMaxY());
+        }
 
         render();
         updateObjectCount();
     }
 
     private void handleMousePressed(MouseEvent e) {
-        double x = snapToGrid(e.getX());
-        double y = snapToGrid(e.getY());
+        double x = snapToGrid(toWorldX(e.getX()));
+        double y = snapToGrid(toWorldY(e.getY()));
 
         if (selectTool.isSelected()) {
             // Check if clicking on existing object
-            selectedObject = getObjectAt(x, y);
-            if (selectedObject != null) {
+            EditorObject hit = getObjectAt(x, y);
+            if (hit != null) {
+                markDirty(selectedObject);
+                selectedObject = hit;
+                markDirty(selectedObject);
                 updateSelectionInfo();
                 draggedObject = selectedObject;
                 dragStartX = selectedObject.x;
@@ -103,31 +229,42 @@ public class LevelEditorController {
             isDrawingNew = true;
             drawStartX = x;
             drawStartY = y;
+            drawCurrentX = x;
+            drawCurrentY = y;
         }
-
-        render();
     }
 
     private void handleMouseDragged(MouseEvent e) {
-        double x = snapToGrid(e.getX());
-        double y = snapToGrid(e.getY());
+        double x = snapToGrid(toWorldX(e.getX()));
+        double y = snapToGrid(toWorldY(e.getY()));
 
         if (selectTool.isSelected() && draggedObject != null) {
             // Move selected object
             isDragging = true;
-            draggedObject.x = x - dragOffsetX;
-            draggedObject.y = y - dragOffsetY;
-            updateSelectionInfo();
+            double newX = x - dragOffsetX;
+            double newY = y - dragOffsetY;
+            if (newX != draggedObject.x || newY != draggedObject.y) {
+                markDirty(draggedObject);
+                draggedObject.x = newX;
+                draggedObject.y = newY;
+                indexObject(draggedObject);
+                markModified();
+                markDirty(draggedObject);
+                // Refreshed once per pulse rather than per mouse event
+                selectionInfoDirty = true;
+            }
         } else if (isDrawingNew) {
             // Preview new object size
+            markPreviewDirty();
+            drawCurrentX = x;
+            drawCurrentY = y;
+            markPreviewDirty();
         }
-
-        render();
     }
 
     private void handleMouseReleased(MouseEvent e) {
-        double x = snapToGrid(e.getX());
-        double y = snapToGrid(e.getY());
+        double x = snapToGrid(toWorldX(e.getX()));
+        double y = snapToGrid(toWorldY(e.getY()));
 
         if (isDrawingNew) {
             // Create new object
@@ -145,16 +282,20 @@ public class LevelEditorController {
                     newObj = new EditorObject(objX, objY, objWidth, objHeight, ObjectType.OBSTACLE);
                 } else if (goalTool.isSelected()) {
                     // Remove existing goal if any
-                    editorObjects.removeIf(obj -> obj.type == ObjectType.GOAL);
+                    for (int i = editorObjects.size() - 1; i >= 0; i--) {
+                        if (editorObjects.get(i).type == ObjectType.GOAL) {
+                            removeObject(editorObjects.get(i));
+                        }
+                    }
                     newObj = new EditorObject(objX, objY, objWidth, objHeight, ObjectType.GOAL);
                 }
 
                 if (newObj != null) {
-                    editorObjects.add(newObj);
+                    addObject(newObj);
                     statusLabel.setText("Created " + newObj.type);
-                    updateObjectCount();
                 }
             }
+            markPreviewDirty();
             isDrawingNew = false;
         }
 
@@ -164,43 +305,165 @@ public class LevelEditorController {
         }
 
         draggedObject = null;
-        render();
     }
 
     private void handleMouseMoved(MouseEvent e) {
-        mousePositionLabel.setText(String.format("Mouse: (%.0f, %.0f)", e.getX(), e.getY()));
+        mousePositionLabel.setText(String.format("Mouse: (%.0f, %.0f)", toWorldX(e.getX()), toWorldY(e.getY())));
     }
 
+    /**
+     * Wheel scrolls the view (Shift for horizontal on mice without a tilt wheel),
+     * Ctrl+wheel zooms around the cursor
+     */
+    private void handleScroll(ScrollEvent e) {
+        if (e.isControlDown()) {
+            if (e.getDeltaY() == 0) return;
+            double newZoom = e.getDeltaY() > 0 ? zoom * ZOOM_STEP : zoom / ZOOM_STEP;
+            newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, newZoom));
+            // Keep the world point under the cursor in place
+            double worldX = toWorldX(e.getX());
+            double worldY = toWorldY(e.getY());
+            zoom = newZoom;
+            setCamera(worldX - e.getX() / zoom, worldY - e.getY() / zoom);
+            render();
+        } else if (e.isShiftDown() || e.getDeltaX() != 0) {
+            double delta = e.getDeltaX() != 0 ? e.getDeltaX() : e.getDeltaY();
+            setCamera(cameraX - delta / zoom, cameraY);
+        } else {
+            setCamera(cameraX, cameraY - e.getDeltaY() / zoom);
+        }
+        e.consume();
+    }
+
+    private double toWorldX(double screenX) {
+        return cameraX + screenX / zoom;
+    }
+
+    private double toWorldY(double screenY) {
+        return cameraY + screenY / zoom;
+    }
+
+    private double viewWorldWidth() {
+        return editorCanvas.getWidth() / zoom;
+    }
+
+    private double viewWorldHeight() {
+        return editorCanvas.getHeight() / zoom;
+    }
+
+    /**
+     * Move the view; the world starts at 0 and extends a screen past the last object
+     */
+    private void setCamera(double x, double y) {
+        x = Math.max(0, Math.min(x, Math.max(cameraX, scrollMaxX())));
+        y = Math.max(0, Math.min(y, Math.max(cameraY, scrollMaxY())));
+        if (x != cameraX || y != cameraY) {
+            cameraX = x;
+            cameraY = y;
+            render();
+        }
+    }
+
+    private void updateScrollBars() {
+        updatingScrollBars = true;
+        updateScrollBar(horizontalScrollBar, cameraX, scrollMaxX(), viewWorldWidth());
+        updateScrollBar(verticalScrollBar, cameraY, scrollMaxY(), viewWorldHeight());
+        updatingScrollBars = false;
+    }
+
+    // Largest camera position: the furthest object edge, but never less than one
+    // screen or enough to reach the end of the minimum world
+    private double scrollMaxX() {
+        double view = viewWorldWidth();
+        return Math.max(contentMaxX, Math.max(view, MIN_WORLD_WIDTH - view));
+    }
+
+    private double scrollMaxY() {
+        double view = viewWorldHeight();
+        return Math.max(contentMaxY, Math.max(view, MIN_WORLD_HEIGHT - view));
+    }
+
+    private static void updateScrollBar(ScrollBar bar, double position, double contentMax, double view) {
+        double range = Math.max(position, contentMax);
+        bar.setMin(0);
+        bar.setMax(range);
+        // The thumb covers the visible share of range + view
+        bar.setVisibleAmount(range > 0 ? range * view / (range + view) : 1);
+        bar.setUnitIncrement(view / 10);
+        bar.setBlockIncrement(view * 0.9);
+        bar.setValue(position);
+    }
+
+    /**
+     * Repaint the whole canvas on the next pulse
+     */
     private void render() {
-        // Clear canvas
-        gc.setFill(Color.LIGHTGRAY);
-        gc.fillRect(0, 0, editorCanvas.getWidth(), editorCanvas.getHeight());
+        markDirty(0, 0, editorCanvas.getWidth(), editorCanvas.getHeight());
+    }
 
-        // Draw grid
-        if (showGrid) {
-            gc.setStroke(Color.rgb(200, 200, 200));
-            gc.setLineWidth(1);
+    private void pulse() {
+        repaintScheduled = false;
+        repaintTimer.stop();
+        if (selectionInfoDirty) {
+            selectionInfoDirty = false;
+            updateSelectionInfo();
+        }
+        updateScrollBars();
+        repaint();
+    }
 
-            for (double x = 0; x < editorCanvas.getWidth(); x += gridSize) {
-                gc.strokeLine(x, 0, x, editorCanvas.getHeight());
-            }
-            for (double y = 0; y < editorCanvas.getHeight(); y += gridSize) {
-                gc.strokeLine(0, y, editorCanvas.getWidth(), y);
-            }
+    /**
+     * Repaint only the dirty region: clip to it, clear it and redraw the grid
+     * lines and objects that overlap it, in their original stacking order.
+     * Objects are found with a spatial query of the region in world space,
+     * so the cost depends on what is in view, not on the size of the level.
+     */
+    private void repaint() {
+        if (dirtyMinX > dirtyMaxX) {
+            return;
+        }
+        // Whole pixels, so antialiased edges on the boundary are cleared too
+        double minX = Math.max(0, Math.floor(dirtyMinX));
+        double minY = Math.max(0, Math.floor(dirtyMinY));
+        double maxX = Math.min(editorCanvas.getWidth(), Math.ceil(dirtyMaxX));
+        double maxY = Math.min(editorCanvas.getHeight(), Math.ceil(dirtyMaxY));
+        dirtyMinX = dirtyMinY = Double.MAX_VALUE;
+        dirtyMaxX = dirtyMaxY = -Double.MAX_VALUE;
+        if (minX >= maxX || minY >= maxY) {
+            return;
         }
 
-        // Draw all objects
-        for (EditorObject obj : editorObjects) {
+        gc.save();
+        gc.beginPath();
+        gc.rect(minX, minY, maxX - minX, maxY - minY);
+        gc.clip();
+
+        // Draw in world coordinates from here on
+        gc.scale(zoom, zoom);
+        gc.translate(-cameraX, -cameraY);
+        double worldMinX = toWorldX(minX), worldMinY = toWorldY(minY);
+        double worldMaxX = toWorldX(maxX), worldMaxY = toWorldY(maxY);
+
+        // Clear region, drawing the grid with it
+        boolean drawGrid = showGrid && gridSize * zoom >= MIN_GRID_SPACING;
+        gc.setFill(drawGrid ? gridPattern : BACKGROUND_COLOR);
+        gc.fillRect(worldMinX, worldMinY, worldMaxX - worldMinX, worldMaxY - worldMinY);
+
+        // Draw the objects overlapping the region
+        objectIndex.query(worldMinX, worldMinY, worldMaxX, worldMaxY, visibleObjects);
+        visibleObjects.sort(BY_ORDER);
+        for (EditorObject obj : visibleObjects) {
             drawObject(obj, obj == selectedObject);
         }
+        visibleObjects.clear();
 
         // Draw object being created
-        if (isDrawingNew && drawStartX > 0) {
+        if (isDrawingNew) {
             gc.setGlobalAlpha(0.5);
-            double x = Math.min(drawStartX, snapToGrid(editorCanvas.getWidth()));
-            double y = Math.min(drawStartY, snapToGrid(editorCanvas.getHeight()));
-            double width = Math.abs(snapToGrid(editorCanvas.getWidth()) - drawStartX);
-            double height = Math.abs(snapToGrid(editorCanvas.getHeight()) - drawStartY);
+            double x = Math.min(drawStartX, drawCurrentX);
+            double y = Math.min(drawStartY, drawCurrentY);
+            double width = Math.abs(drawCurrentX - drawStartX);
+            double height = Math.abs(drawCurrentY - drawStartY);
 
             if (platformTool.isSelected()) {
                 gc.setFill(Color.GREEN);
@@ -213,6 +476,97 @@ public class LevelEditorController {
             gc.fillRect(x, y, width, height);
             gc.setGlobalAlpha(1.0);
         }
+
+        gc.restore();
+    }
+
+    private void markDirty(double minX, double minY, double maxX, double maxY) {
+        if (!repaintScheduled) {
+            repaintScheduled = true;
+            repaintTimer.start();
+        }
+        dirtyMinX = Math.min(dirtyMinX, minX);
+        dirtyMinY = Math.min(dirtyMinY, minY);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY);
+    }
+
+    /**
+     * Mark a world-space box dirty, plus a pixel for antialiasing
+     */
+    private void markWorldDirty(double minX, double minY, double maxX, double maxY) {
+        markDirty((minX - cameraX) * zoom - 1, (minY - cameraY) * zoom - 1,
+                (maxX - cameraX) * zoom + 1, (maxY - cameraY) * zoom + 1);
+    }
+
+    /**
+     * Mark everything drawObject() may touch for this object, label included
+     */
+    private void markDirty(EditorObject obj) {
+        if (obj != null) {
+            markWorldDirty(paintMinX(obj), paintMinY(obj), paintMaxX(obj), paintMaxY(obj));
+        }
+    }
+
+    private void markPreviewDirty() {
+        markWorldDirty(Math.min(drawStartX, drawCurrentX), Math.min(drawStartY, drawCurrentY),
+                Math.max(drawStartX, drawCurrentX), Math.max(drawStartY, drawCurrentY));
+    }
+
+    private double paintMinX(EditorObject obj) {
+        return obj.x - PAINT_MARGIN;
+    }
+
+    private double paintMinY(EditorObject obj) {
+        return obj.y - PAINT_MARGIN;
+    }
+
+    private double paintMaxX(EditorObject obj) {
+        return Math.max(obj.x + obj.width, obj.x + 5 + labelWidth) + PAINT_MARGIN;
+    }
+
+    private double paintMaxY(EditorObject obj) {
+        return Math.max(obj.y + obj.height, obj.y + labelBottom) + PAINT_MARGIN;
+    }
+
+    private void indexObject(EditorObject obj) {
+        objectIndex.put(obj, paintMinX(obj), paintMinY(obj), paintMaxX(obj), paintMaxY(obj));
+        // Only grows; deleting the last object leaves the scroll range as it was
+        contentMaxX = Math.max(contentMaxX, obj.x + obj.width);
+        contentMaxY = Math.max(contentMaxY, obj.y + obj.height);
+    }
+
+    private void addObject(EditorObject obj) {
+        obj.order = nextOrder++;
+        editorObjects.add(obj);
+        indexObject(obj);
+        markDirty(obj);
+        markModified();
+        objectCounts[obj.type.ordinal()]++;
+        updateObjectCount();
+    }
+
+    private void removeObject(EditorObject obj) {
+        editorObjects.remove(obj);
+        objectIndex.remove(obj);
+        markDirty(obj);
+        markModified();
+        objectCounts[obj.type.ordinal()]--;
+        updateObjectCount();
+    }
+
+    private void removeAllObjects() {
+        editorObjects.clear();
+        objectIndex.clear();
+        markModified();
+        Arrays.fill(objectCounts, 0);
+        contentMaxX = 0;
+        contentMaxY = 0;
+        updateObjectCount();
+    }
+
+    private void markModified() {
+        revision++;
     }
 
     private void drawObject(EditorObject obj, boolean selected) {
@@ -241,24 +595,55 @@ public class LevelEditorController {
     }
 
     private EditorObject getObjectAt(double x, double y) {
-        // Check in reverse order (top objects first)
-        for (int i = editorObjects.size() - 1; i >= 0; i--) {
-            EditorObject obj = editorObjects.get(i);
+        // Topmost (latest added) object containing the point
+        objectIndex.query(x, y, x, y, visibleObjects);
+        EditorObject top = null;
+        for (EditorObject obj : visibleObjects) {
             if (x >= obj.x && x <= obj.x + obj.width &&
-                    y >= obj.y && y <= obj.y + obj.height) {
-                return obj;
+                    y >= obj.y && y <= obj.y + obj.height &&
+                    (top == null || obj.order > top.order)) {
+                top = obj;
             }
         }
-        return null;
+        visibleObjects.clear();
+        return top;
     }
 
     private double snapToGrid(double value) {
+        return Math.round(value / gridSize) * gridSize;
+    }
+
+    private void updateGridSize() {
+        int size;
         try {
-            gridSize = Integer.parseInt(gridSizeField.getText());
+            size = Integer.parseInt(gridSizeField.getText().trim());
         } catch (NumberFormatException e) {
-            gridSize = 10;
+            size = DEFAULT_GRID_SIZE;
         }
-        return Math.round(value / gridSize) * gridSize;
+        if (size < 1) {
+            size = DEFAULT_GRID_SIZE;
+        }
+        size = Math.min(size, MAX_GRID_SIZE);
+        if (size != gridSize || gridPattern == null) {
+            gridSize = size;
+            gridPattern = createGridPattern(size);
+            render();
+        }
+    }
+
+    /**
+     * A single grid cell with its line along the top and left edges,
+     * anchored at the canvas origin so the lines fall on multiples of the size
+     */
+    private static ImagePattern createGridPattern(int size) {
+        WritableImage cell = new WritableImage(size, size);
+        PixelWriter writer = cell.getPixelWriter();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                writer.setColor(x, y, x == 0 || y == 0 ? GRID_COLOR : BACKGROUND_COLOR);
+            }
+        }
+        return new ImagePattern(cell, 0, 0, size, size, false);
     }
 
     private void updateSelectionInfo() {
@@ -277,6 +662,7 @@ public class LevelEditorController {
     }
 
     private void clearSelection() {
+        markDirty(selectedObject);
         selectedObject = null;
         selectionInfoLabel.setText("No object selected");
         objXField.clear();
@@ -291,22 +677,27 @@ public class LevelEditorController {
     }
 
     private void updateObjectCount() {
-        int platforms = (int) editorObjects.stream().filter(o -> o.type == ObjectType.PLATFORM).count();
-        int obstacles = (int) editorObjects.stream().filter(o -> o.type == ObjectType.OBSTACLE).count();
-        int goals = (int) editorObjects.stream().filter(o -> o.type == ObjectType.GOAL).count();
         objectCountLabel.setText(String.format("Platforms: %d, Obstacles: %d, Goals: %d",
-                platforms, obstacles, goals));
+                objectCounts[ObjectType.PLATFORM.ordinal()], objectCounts[ObjectType.OBSTACLE.ordinal()],
+                objectCounts[ObjectType.GOAL.ordinal()]));
     }
 
     @FXML
     private void applyObjectChanges() {
         if (selectedObject != null) {
             try {
-                selectedObject.x = Double.parseDouble(objXField.getText());
-                selectedObject.y = Double.parseDouble(objYField.getText());
-                selectedObject.width = Double.parseDouble(objWidthField.getText());
-                selectedObject.height = Double.parseDouble(objHeightField.getText());
-                render();
+                double x = Double.parseDouble(objXField.getText());
+                double y = Double.parseDouble(objYField.getText());
+                double width = Double.parseDouble(objWidthField.getText());
+                double height = Double.parseDouble(objHeightField.getText());
+                markDirty(selectedObject);
+                selectedObject.x = x;
+                selectedObject.y = y;
+                selectedObject.width = width;
+                selectedObject.height = height;
+                indexObject(selectedObject);
+                markDirty(selectedObject);
+                markModified();
                 statusLabel.setText("Object updated");
             } catch (NumberFormatException e) {
                 statusLabel.setText("Invalid number format");
@@ -329,8 +720,10 @@ public class LevelEditorController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            editorObjects.clear();
+            removeAllObjects();
             clearSelection();
+            currentLevel = new Level(1, "/com/example/runner/background.png", "New Level");
+            currentFile = null;
             levelIdField.setText("1");
             levelNameField.setText("New Level");
             render();
@@ -350,15 +743,91 @@ public class LevelEditorController {
 
         File file = fileChooser.showSaveDialog(stage);
         if (file != null) {
+            currentFile = file.toPath();
             Level level = editorToLevel();
-            String json = levelLoader.saveToJSON(level);
-
-            try (FileWriter writer = new FileWriter(file)) {
-                writer.write(json);
+            int savedRevision = revision;
+            statusLabel.setText("Saving " + file.getName() + "...");
+
+            // Serialized and written on the saver thread, the editor stays responsive
+            levelSaver.save(level, currentFile).whenComplete((path, e) -> Platform.runLater(() -> {
+                if (e != null) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    statusLabel.setText("Error saving: " + cause.getMessage());
+                    return;
+                }
+                autosavedRevision = Math.max(autosavedRevision, savedRevision);
                 statusLabel.setText("Level saved to: " + file.getName());
-            } catch (Exception e) {
-                statusLabel.setText("Error saving: " + e.getMessage());
-            }
+                checkSolvable(level, file.getName(), savedRevision);
+            }));
+        }
+    }
+
+    /**
+     * Hand a snapshot to the saver if anything changed since the last save.
+     * Written next to the current file, or to ~/.runner before the first save.
+     */
+    private void autosave() {
+        if (revision == autosavedRevision) {
+            return;
+        }
+        autosavedRevision = revision;
+        levelSaver.autosave(editorToLevel(), autosavePath());
+    }
+
+    private Path autosavePath() {
+        if (currentFile != null) {
+            return currentFile.resolveSibling(currentFile.getFileName() + ".autosave");
+        }
+        return Paths.get(System.getProperty("user.home"), ".runner", "editor-autosave.json");
+    }
+
+    /**
+     * Stop the timers and flush a final autosave. Safe to call more than once.
+     */
+    public void shutdown() {
+        if (shutDown) {
+            return;
+        }
+        shutDown = true;
+        repaintTimer.stop();
+        if (autosaveTimer != null) {
+            autosaveTimer.stop();
+        }
+        cancelSolvabilityCheck();
+        autosave();
+        levelSaver.close();
+    }
+
+    /**
+     * Run the solver in the background and report whether the saved level can be completed.
+     * Replaces the check of any earlier save.
+     */
+    private void checkSolvable(Level level, String fileName, int savedRevision) {
+        cancelSolvabilityCheck();
+        LevelSolver solver = new LevelSolver();
+        solver.setMaxStates(SAVE_CHECK_MAX_STATES);
+        solvabilityCheck = solver;
+        checkedRevision = savedRevision;
+
+        CompletableFuture.supplyAsync(() -> solver.solve(level))
+                .thenAccept(result -> Platform.runLater(() -> {
+                    // A result for an older save would overwrite the newer one's
+                    if (savedRevision != checkedRevision || solver != solvabilityCheck) return;
+                    solvabilityCheck = null;
+                    statusLabel.setText("Level saved to: " + fileName + " - " + result);
+                }))
+                .exceptionally(e -> {
+                    if (!(e.getCause() instanceof CancellationException)) {
+                        System.err.println("Error checking level: " + e.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    private void cancelSolvabilityCheck() {
+        if (solvabilityCheck != null) {
+            solvabilityCheck.cancel();
+            solvabilityCheck = null;
         }
     }
 
@@ -392,16 +861,45 @@ public class LevelEditorController {
 
         File file = fileChooser.showOpenDialog(stage);
         if (file != null) {
-            try {
-                // Load level from file path (not resource path)
-                // This is a simplified version - you'd need to adjust LevelLoader
-                statusLabel.setText("Level loading from file not fully implemented yet");
-            } catch (Exception e) {
-                statusLabel.setText("Error loading: " + e.getMessage());
+            Level level = levelLoader.loadFromFile(file.toPath());
+            if (level == null) {
+                statusLabel.setText("Error loading: " + file.getName());
+                return;
             }
+            levelToEditor(level);
+            currentFile = file.toPath();
+            autosavedRevision = revision;
+            statusLabel.setText("Level loaded from: " + file.getName());
         }
     }
 
+    /**
+     * Replace the editor contents with the level. Background layers have no
+     * editor UI, they are kept on currentLevel and written back on save.
+     */
+    private void levelToEditor(Level level) {
+        removeAllObjects();
+        clearSelection();
+        nextOrder = 0;
+        for (Rectangle2D box : level.getPlatforms()) {
+            addObject(new EditorObject(box.getMinX(), box.getMinY(), box.getWidth(), box.getHeight(), ObjectType.PLATFORM));
+        }
+        for (Rectangle2D box : level.getObstacles()) {
+            addObject(new EditorObject(box.getMinX(), box.getMinY(), box.getWidth(), box.getHeight(), ObjectType.OBSTACLE));
+        }
+        Rectangle2D goal = level.getGoal();
+        if (goal != null) {
+            addObject(new EditorObject(goal.getMinX(), goal.getMinY(), goal.getWidth(), goal.getHeight(), ObjectType.GOAL));
+        }
+
+        currentLevel = level;
+        levelIdField.setText(String.valueOf(level.getLevelId()));
+        levelNameField.setText(level.getLevelName() != null ? level.getLevelName() : "");
+        backgroundPathField.setText(level.getBackgroundPath() != null ? level.getBackgroundPath() : "");
+        render();
+        updateObjectCount();
+    }
+
     @FXML
     private void clearAll() {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -411,7 +909,7 @@ public class LevelEditorController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            editorObjects.clear();
+            removeAllObjects();
             clearSelection();
             render();
             updateObjectCount();
@@ -422,9 +920,8 @@ public class LevelEditorController {
     @FXML
     private void deleteSelected() {
         if (selectedObject != null) {
-            editorObjects.remove(selectedObject);
+            removeObject(selectedObject);
             clearSelection();
-            render();
             updateObjectCount();
             statusLabel.setText("Object deleted");
         }
@@ -438,6 +935,7 @@ public class LevelEditorController {
 
     @FXML
     private void exitEditor() {
+        shutdown();
         stage.close();
     }
 
@@ -446,35 +944,46 @@ public class LevelEditorController {
         statusLabel.setText("Background image loading not implemented - use path in field");
     }
 
+    /**
+     * Copy the editor model into a new Level, safe to hand to another thread
+     */
     private Level editorToLevel() {
-        try {
-            int levelId = Integer.parseInt(levelIdField.getText());
-            String levelName = levelNameField.getText();
-            String bgPath = backgroundPathField.getText();
-            if (bgPath.isEmpty()) {
-                bgPath = "/com/example/runner/background.png";
-            }
+        int levelId = parseLevelId();
+        String levelName = levelNameField.getText();
+        String bgPath = backgroundPathField.getText();
+        if (bgPath.isEmpty()) {
+            bgPath = "/com/example/runner/background.png";
+        }
 
-            Level level = new Level(levelId, bgPath, levelName);
-
-            for (EditorObject obj : editorObjects) {
-                switch (obj.type) {
-                    case PLATFORM:
-                        level.addPlatform(obj.x, obj.y, obj.width, obj.height);
-                        break;
-                    case OBSTACLE:
-                        level.addObstacle(obj.x, obj.y, obj.width, obj.height);
-                        break;
-                    case GOAL:
-                        level.setGoal(new Rectangle2D(obj.x, obj.y, obj.width, obj.height));
-                        break;
-                }
+        Level level = new Level(levelId, bgPath, levelName);
+        level.setBackgroundLayers(currentLevel.getBackgroundLayers());
+
+        for (EditorObject obj : editorObjects) {
+            switch (obj.type) {
+                case PLATFORM:
+                    level.addPlatform(obj.x, obj.y, obj.width, obj.height);
+                    break;
+                case OBSTACLE:
+                    level.addObstacle(obj.x, obj.y, obj.width, obj.height);
+                    break;
+                case GOAL:
+                    level.setGoal(new Rectangle2D(obj.x, obj.y, obj.width, obj.height));
+                    break;
             }
+        }
+
+        level.calculateLevelWidth();
+        return level;
+    }
 
-            level.calculateLevelWidth();
-            return level;
+    /**
+     * An id that does not parse falls back to 1 rather than dropping the level's objects
+     */
+    private int parseLevelId() {
+        try {
+            return Integer.parseInt(levelIdField.getText().trim());
         } catch (NumberFormatException e) {
-            return new Level(1, "/com/example/runner/background.png", "Error");
+            return 1;
         }
     }
 
@@ -482,6 +991,8 @@ public class LevelEditorController {
     private static class EditorObject {
         double x, y, width, height;
         ObjectType type;
+        // Stacking order, later objects are drawn on top and hit first
+        int order;
 
         EditorObject(double x, double y, double width, double height, ObjectType type) {
             this.x = x;
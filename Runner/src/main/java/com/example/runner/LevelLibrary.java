@@ -0,0 +1,133 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The game's built-in levels, looked up by number: compiled if available,
+ * then JSON, then a hardcoded fallback. With -Drunner.levels.dir=<dir>,
+ * level<n>.json files in that directory take precedence, and the game
+ * reloads them while running when they change.
+ */
+public final class LevelLibrary {
+    public static final int LEVEL_COUNT = 3;
+    private static final String LEVEL_PATH = "/com/example/runner/levels/level";
+    private static final String LEVEL_FILE_PREFIX = "level";
+    private static final String LEVEL_FILE_SUFFIX = ".json";
+
+    private static final String LEVEL_DIR = System.getProperty("runner.levels.dir");
+
+    private LevelLibrary() {
+    }
+
+    /**
+     * Chunk source for a level. Safe to call from any thread.
+     */
+    public static ChunkSource load(int levelNumber) {
+        // Levels being edited on disk
+        Path levelDir = getLevelDirectory();
+        if (levelDir != null) {
+            Path file = levelDir.resolve(levelFileName(levelNumber));
+            if (Files.isRegularFile(file)) {
+                Level level = new LevelLoader().loadFromFile(file);
+                if (level != null) {
+                    System.out.println("Loaded level " + levelNumber + " from " + file);
+                    return new PackedChunkSource(level);
+                }
+            }
+        }
+
+        // Compiled levels are memory-mapped and decoded chunk by chunk
+        String basePath = LEVEL_PATH + levelNumber;
+        CompiledLevel compiled = CompiledLevel.fromResource(basePath + CompiledLevel.EXTENSION);
+        if (compiled != null) {
+            System.out.println("Loaded level " + levelNumber + " from compiled file");
+            return compiled;
+        }
+
+        // Then JSON
+        Level level = new LevelLoader().loadFromJSON(basePath + ".json");
+
+        if (level == null) {
+            // Fallback to hardcoded level if JSON not found
+            System.out.println("JSON not found, using hardcoded level " + levelNumber);
+            level = createHardcodedLevel(levelNumber);
+        } else {
+            System.out.println("Loaded level " + levelNumber + " from JSON");
+        }
+        return new PackedChunkSource(level);
+    }
+
+    /**
+     * Streamer over a level, for headless runs
+     */
+    public static LevelStreamer stream(int levelNumber) {
+        return new LevelStreamer(load(levelNumber));
+    }
+
+    /**
+     * Directory of level files overriding the built-in ones, or null if not set
+     */
+    public static Path getLevelDirectory() {
+        return LEVEL_DIR == null ? null : Paths.get(LEVEL_DIR);
+    }
+
+    public static String levelFileName(int levelNumber) {
+        return LEVEL_FILE_PREFIX + levelNumber + LEVEL_FILE_SUFFIX;
+    }
+
+    /**
+     * The level number of a level<n>.json file name, or -1 for any other file
+     */
+    public static int levelNumberOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(LEVEL_FILE_PREFIX) || !name.endsWith(LEVEL_FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(LEVEL_FILE_PREFIX.length(),
+                    name.length() - LEVEL_FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Fallback hardcoded levels (same as before)
+     */
+    public static Level createHardcodedLevel(int levelNumber) {
+        Level level = new Level(levelNumber, "/com/example/runner/background.png", "Level " + levelNumber);
+
+        if (levelNumber == 1) {
+            level.setBackgroundPath("/com/example/runner/leveltest.png");
+            level.addPlatform(0, 350, 400, 50);
+            level.addPlatform(500, 350, 400, 50);
+            level.addPlatform(200, 250, 200, 20);
+            level.addObstacle(600, 300, 50, 50);
+            level.setGoal(new Rectangle2D(850, 300, 50, 50));
+        } else if (levelNumber == 2) {
+            level.addPlatform(0, 350, 300, 50);
+            level.addPlatform(400, 350, 300, 50);
+            level.addPlatform(150, 200, 150, 20);
+            level.addPlatform(500, 150, 150, 20);
+            level.addObstacle(250, 300, 50, 50);
+            level.addObstacle(550, 100, 50, 50);
+            level.setGoal(new Rectangle2D(750, 100, 50, 50));
+        } else if (levelNumber == 3) {
+            level.addPlatform(0, 350, 200, 50);
+            level.addPlatform(300, 350, 200, 50);
+            level.addPlatform(600, 350, 200, 50);
+            level.addPlatform(100, 250, 100, 20);
+            level.addPlatform(400, 200, 100, 20);
+            level.addPlatform(700, 150, 100, 20);
+            level.addObstacle(150, 300, 50, 50);
+            level.addObstacle(450, 150, 50, 50);
+            level.setGoal(new Rectangle2D(850, 100, 50, 50));
+        }
+
+        level.calculateLevelWidth();
+        return level;
+    }
+}
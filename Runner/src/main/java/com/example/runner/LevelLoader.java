@@ -3,16 +3,25 @@ package com.example.runner;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import javafx.geometry.Rectangle2D;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Loads level data from JSON files
  * Supports both custom JSON format and Tiled Map Editor JSON export
+ *
+ * Parsing streams tokens with a JsonReader and writes straight into the
+ * Level geometry, so no JSON tree is built for large levels.
  */
 public class LevelLoader {
     private Gson gson;
@@ -34,14 +43,8 @@ public class LevelLoader {
                 return null;
             }
 
-            Reader reader = new InputStreamReader(is);
-            JsonObject jsonObject = gson.fromJson(reader, JsonObject.class);
-
-            // Check if it's a Tiled map or custom format
-            if (jsonObject.has("type") && jsonObject.get("type").getAsString().equals("map")) {
-                return loadFromTiledJSON(jsonObject);
-            } else {
-                return loadFromCustomJSON(jsonObject);
+            try (Reader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                return parseLevel(reader);
             }
 
         } catch (Exception e) {
@@ -52,133 +55,312 @@ public class LevelLoader {
     }
 
     /**
-     * Load from custom JSON format
+     * Load a level from a JSON file on disk
+     * @return Level object, or null if the file cannot be read or parsed
      */
-    private Level loadFromCustomJSON(JsonObject json) {
+    public Level loadFromFile(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parseLevel(reader);
+        } catch (Exception e) {
+            System.err.println("Error loading level from " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse a level in either format from a character stream.
+     * The format is detected from the top-level "type": "map" of Tiled exports,
+     * which may appear anywhere in the object.
+     */
+    public Level parseLevel(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
         Level level = new Level();
+        ParseState state = new ParseState();
 
-        // Basic properties
-        if (json.has("levelId")) {
-            level.setLevelId(json.get("levelId").getAsInt());
-        }
-        if (json.has("levelName")) {
-            level.setLevelName(json.get("levelName").getAsString());
-        }
-        if (json.has("backgroundPath")) {
-            level.setBackgroundPath(json.get("backgroundPath").getAsString());
-        }
-        if (json.has("levelWidth")) {
-            level.setLevelWidth(json.get("levelWidth").getAsDouble());
-        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
 
-        // Load platforms
-        if (json.has("platforms")) {
-            JsonArray platforms = json.getAsJsonArray("platforms");
-            for (int i = 0; i < platforms.size(); i++) {
-                JsonObject platform = platforms.get(i).getAsJsonObject();
-                double x = platform.get("x").getAsDouble();
-                double y = platform.get("y").getAsDouble();
-                double width = platform.get("width").getAsDouble();
-                double height = platform.get("height").getAsDouble();
-                level.addPlatform(x, y, width, height);
+            switch (name) {
+                // Custom format
+                case "levelId":
+                    level.setLevelId(reader.nextInt());
+                    break;
+                case "levelName":
+                    level.setLevelName(reader.nextString());
+                    break;
+                case "backgroundPath":
+                    level.setBackgroundPath(reader.nextString());
+                    break;
+                case "backgroundLayers":
+                    readBackgroundLayers(reader, level);
+                    break;
+                case "levelWidth":
+                    level.setLevelWidth(reader.nextDouble());
+                    break;
+                case "platforms":
+                    readBoxes(reader, level.getPlatformLayer(), state);
+                    break;
+                case "obstacles":
+                    readBoxes(reader, level.getObstacleLayer(), state);
+                    break;
+                case "goal":
+                    readBox(reader, state);
+                    level.setGoal(state.toRectangle());
+                    break;
+
+                // Tiled format
+                case "type":
+                    state.tiled = reader.nextString().equals("map");
+                    break;
+                case "width":
+                    state.mapWidth = reader.nextInt();
+                    break;
+                case "tilewidth":
+                    state.tileWidth = reader.nextInt();
+                    break;
+                case "layers":
+                    readTiledLayers(reader, level, state);
+                    break;
+                case "properties":
+                    readTiledProperties(reader, state);
+                    break;
+
+                default:
+                    reader.skipValue();
             }
         }
+        reader.endObject();
 
-        // Load obstacles
-        if (json.has("obstacles")) {
-            JsonArray obstacles = json.getAsJsonArray("obstacles");
-            for (int i = 0; i < obstacles.size(); i++) {
-                JsonObject obstacle = obstacles.get(i).getAsJsonObject();
-                double x = obstacle.get("x").getAsDouble();
-                double y = obstacle.get("y").getAsDouble();
-                double width = obstacle.get("width").getAsDouble();
-                double height = obstacle.get("height").getAsDouble();
-                level.addObstacle(x, y, width, height);
+        if (state.tiled) {
+            // Tiled maps take their width from the tile grid
+            level.setLevelWidth(state.mapWidth * state.tileWidth);
+            if (state.background != null) {
+                level.setBackgroundPath(state.background);
             }
+        } else if (level.getLevelWidth() == 0) {
+            // Calculate level width if not specified
+            level.calculateLevelWidth();
         }
 
-        // Load goal
-        if (json.has("goal")) {
-            JsonObject goal = json.getAsJsonObject("goal");
-            double x = goal.get("x").getAsDouble();
-            double y = goal.get("y").getAsDouble();
-            double width = goal.get("width").getAsDouble();
-            double height = goal.get("height").getAsDouble();
-            level.setGoal(new Rectangle2D(x, y, width, height));
+        return level;
+    }
+
+    /**
+     * Read an array of {x, y, width, height} objects into a geometry layer
+     */
+    private void readBoxes(JsonReader reader, GeometryLayer layer, ParseState state) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            readBox(reader, state);
+            layer.add(state.x, state.y, state.width, state.height);
         }
+        reader.endArray();
+    }
 
-        // Calculate level width if not specified
-        if (level.getLevelWidth() == 0) {
-            level.calculateLevelWidth();
+    /**
+     * Read one {x, y, width, height} object into the parse state
+     */
+    private void readBox(JsonReader reader, ParseState state) throws IOException {
+        state.x = 0;
+        state.y = 0;
+        state.width = 0;
+        state.height = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "x":
+                    state.x = reader.nextDouble();
+                    break;
+                case "y":
+                    state.y = reader.nextDouble();
+                    break;
+                case "width":
+                    state.width = reader.nextDouble();
+                    break;
+                case "height":
+                    state.height = reader.nextDouble();
+                    break;
+                default:
+                    reader.skipValue();
+            }
         }
+        reader.endObject();
+    }
 
-        return level;
+    /**
+     * Read an array of {path, parallax} parallax layers, back to front
+     */
+    private void readBackgroundLayers(JsonReader reader, Level level) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String path = null;
+            double parallax = BackgroundLayer.DEFAULT_PARALLAX;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("path") && reader.peek() == JsonToken.STRING) {
+                    path = reader.nextString();
+                } else if (name.equals("parallax") && reader.peek() == JsonToken.NUMBER) {
+                    parallax = reader.nextDouble();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (path != null) {
+                level.addBackgroundLayer(path, parallax);
+            }
+        }
+        reader.endArray();
     }
 
     /**
-     * Load from Tiled Map Editor JSON export
+     * Read the Tiled "layers" array. Objects are categorized by layer name or
+     * object type; since the layer name may come after its objects, each
+     * object layer is buffered in the parse state until the layer ends.
      */
-    private Level loadFromTiledJSON(JsonObject json) {
-        Level level = new Level();
+    private void readTiledLayers(JsonReader reader, Level level, ParseState state) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String layerName = "";
+            boolean objectGroup = false;
+            state.objectCount = 0;
 
-        // Get map dimensions
-        int mapWidth = json.get("width").getAsInt();
-        int mapHeight = json.get("height").getAsInt();
-        int tileWidth = json.get("tilewidth").getAsInt();
-        int tileHeight = json.get("tileheight").getAsInt();
-
-        level.setLevelWidth(mapWidth * tileWidth);
-
-        // Get layers
-        JsonArray layers = json.getAsJsonArray("layers");
-        for (int i = 0; i < layers.size(); i++) {
-            JsonObject layer = layers.get(i).getAsJsonObject();
-            String layerName = layer.get("name").getAsString().toLowerCase();
-
-            if (layer.get("type").getAsString().equals("objectgroup")) {
-                // Object layer (platforms, obstacles, goal)
-                JsonArray objects = layer.getAsJsonArray("objects");
-
-                for (int j = 0; j < objects.size(); j++) {
-                    JsonObject obj = objects.get(j).getAsJsonObject();
-                    double x = obj.get("x").getAsDouble();
-                    double y = obj.get("y").getAsDouble();
-                    double width = obj.get("width").getAsDouble();
-                    double height = obj.get("height").getAsDouble();
-
-                    String objectType = "";
-                    if (obj.has("type")) {
-                        objectType = obj.get("type").getAsString().toLowerCase();
-                    } else if (obj.has("name")) {
-                        objectType = obj.get("name").getAsString().toLowerCase();
-                    }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
 
-                    // Categorize based on layer name or object type
-                    if (layerName.contains("platform") || objectType.contains("platform")) {
-                        level.addPlatform(x, y, width, height);
-                    } else if (layerName.contains("obstacle") || objectType.contains("obstacle") ||
-                            objectType.contains("spike") || objectType.contains("enemy")) {
-                        level.addObstacle(x, y, width, height);
-                    } else if (layerName.contains("goal") || objectType.contains("goal") ||
-                            objectType.contains("flag") || objectType.contains("finish")) {
-                        level.setGoal(new Rectangle2D(x, y, width, height));
-                    }
+                switch (name) {
+                    case "name":
+                        layerName = reader.nextString().toLowerCase();
+                        break;
+                    case "type":
+                        objectGroup = reader.nextString().equals("objectgroup");
+                        break;
+                    case "objects":
+                        readTiledObjects(reader, state);
+                        break;
+                    default:
+                        reader.skipValue();
                 }
             }
+            reader.endObject();
+
+            if (objectGroup) {
+                addTiledObjects(layerName, level, state);
+            }
         }
+        reader.endArray();
+    }
+
+    private void readTiledObjects(JsonReader reader, ParseState state) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            double x = 0, y = 0, width = 0, height = 0;
+            String type = null;
+            String objectName = null;
 
-        // Get background from custom properties if available
-        if (json.has("properties")) {
-            JsonArray properties = json.getAsJsonArray("properties");
-            for (int i = 0; i < properties.size(); i++) {
-                JsonObject prop = properties.get(i).getAsJsonObject();
-                if (prop.get("name").getAsString().equals("background")) {
-                    level.setBackgroundPath(prop.get("value").getAsString());
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+
+                switch (name) {
+                    case "x":
+                        x = reader.nextDouble();
+                        break;
+                    case "y":
+                        y = reader.nextDouble();
+                        break;
+                    case "width":
+                        width = reader.nextDouble();
+                        break;
+                    case "height":
+                        height = reader.nextDouble();
+                        break;
+                    case "type":
+                        type = reader.nextString();
+                        break;
+                    case "name":
+                        objectName = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
                 }
             }
+            reader.endObject();
+
+            String objectType = type != null ? type : objectName != null ? objectName : "";
+            state.addObject(x, y, width, height, objectType.toLowerCase());
         }
+        reader.endArray();
+    }
 
-        return level;
+    private void addTiledObjects(String layerName, Level level, ParseState state) {
+        for (int i = 0; i < state.objectCount; i++) {
+            String objectType = state.objectTypes[i];
+            double x = state.objectBoxes[i * 4];
+            double y = state.objectBoxes[i * 4 + 1];
+            double width = state.objectBoxes[i * 4 + 2];
+            double height = state.objectBoxes[i * 4 + 3];
+
+            // Categorize based on layer name or object type
+            if (layerName.contains("platform") || objectType.contains("platform")) {
+                level.addPlatform(x, y, width, height);
+            } else if (layerName.contains("obstacle") || objectType.contains("obstacle") ||
+                    objectType.contains("spike") || objectType.contains("enemy")) {
+                level.addObstacle(x, y, width, height);
+            } else if (layerName.contains("goal") || objectType.contains("goal") ||
+                    objectType.contains("flag") || objectType.contains("finish")) {
+                level.setGoal(new Rectangle2D(x, y, width, height));
+            }
+        }
+    }
+
+    /**
+     * Read the Tiled custom "properties" array, picking up "background"
+     */
+    private void readTiledProperties(JsonReader reader, ParseState state) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String name = null;
+            String value = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (reader.peek() == JsonToken.STRING && (key.equals("name") || key.equals("value"))) {
+                    if (key.equals("name")) {
+                        name = reader.nextString();
+                    } else {
+                        value = reader.nextString();
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if ("background".equals(name)) {
+                state.background = value;
+            }
+        }
+        reader.endArray();
     }
 
     /**
@@ -192,6 +374,18 @@ public class LevelLoader {
         json.addProperty("backgroundPath", level.getBackgroundPath());
         json.addProperty("levelWidth", level.getLevelWidth());
 
+        // Save parallax layers
+        if (!level.getBackgroundLayers().isEmpty()) {
+            JsonArray layers = new JsonArray();
+            for (BackgroundLayer layer : level.getBackgroundLayers()) {
+                JsonObject layerObj = new JsonObject();
+                layerObj.addProperty("path", layer.getPath());
+                layerObj.addProperty("parallax", layer.getParallax());
+                layers.add(layerObj);
+            }
+            json.add("backgroundLayers", layers);
+        }
+
         // Save platforms
         JsonArray platforms = new JsonArray();
         for (Rectangle2D platform : level.getPlatforms()) {
@@ -228,4 +422,39 @@ public class LevelLoader {
 
         return gson.toJson(json);
     }
+
+    /**
+     * Scratch values shared by the parse methods of one parseLevel call
+     */
+    private static class ParseState {
+        // Last box read by readBox
+        double x, y, width, height;
+
+        // Tiled map
+        boolean tiled;
+        int mapWidth;
+        int tileWidth;
+        String background;
+
+        // Objects of the Tiled layer being read
+        double[] objectBoxes = new double[64];
+        String[] objectTypes = new String[16];
+        int objectCount;
+
+        Rectangle2D toRectangle() {
+            return new Rectangle2D(x, y, width, height);
+        }
+
+        void addObject(double x, double y, double width, double height, String type) {
+            if (objectCount == objectTypes.length) {
+                objectTypes = Arrays.copyOf(objectTypes, objectCount * 2);
+                objectBoxes = Arrays.copyOf(objectBoxes, objectCount * 8);
+            }
+            objectBoxes[objectCount * 4] = x;
+            objectBoxes[objectCount * 4 + 1] = y;
+            objectBoxes[objectCount * 4 + 2] = width;
+            objectBoxes[objectCount * 4 + 3] = height;
+            objectTypes[objectCount++] = type;
+        }
+    }
 }
\ No newline at end of file
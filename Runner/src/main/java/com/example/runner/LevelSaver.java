@@ -0,0 +1,136 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes level snapshots to disk on a background thread.
+ * Levels are serialized off the caller's thread, written to a temp file next
+ * to the target and moved into place atomically, so a crash mid-write leaves
+ * the previous file intact. Autosaves are coalesced: only the most recent
+ * pending snapshot is written, and it is skipped if the JSON is unchanged.
+ */
+public class LevelSaver {
+    private final LevelLoader levelLoader = new LevelLoader();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "level-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Snapshot> pendingAutosave = new AtomicReference<>();
+    // JSON last written per path, only touched on the saver thread
+    private final Map<Path, String> lastWritten = new HashMap<>();
+
+    /**
+     * Save a level snapshot. The level must not be modified afterwards.
+     * @return completes with the target once the file is in place
+     */
+    public CompletableFuture<Path> save(Level level, Path target) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                write(new Snapshot(level, target), false);
+                return target;
+            } catch (IOException e) {
+                throw new RuntimeException("Could not save " + target + ": " + e.getMessage(), e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Queue an autosave, replacing any snapshot still waiting to be written.
+     * The level must not be modified afterwards.
+     */
+    public void autosave(Level level, Path target) {
+        if (pendingAutosave.getAndSet(new Snapshot(level, target)) == null) {
+            // No drain queued yet, later snapshots ride on this one
+            executor.execute(this::drainAutosave);
+        }
+    }
+
+    private void drainAutosave() {
+        Snapshot snapshot = pendingAutosave.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            write(snapshot, true);
+        } catch (IOException e) {
+            System.err.println("Autosave to " + snapshot.target + " failed: " + e.getMessage());
+        }
+    }
+
+    private void write(Snapshot snapshot, boolean skipUnchanged) throws IOException {
+        String json = levelLoader.saveToJSON(snapshot.level);
+        if (skipUnchanged && json.equals(lastWritten.get(snapshot.target)) && Files.exists(snapshot.target)) {
+            return;
+        }
+        writeAtomically(snapshot.target, json);
+        lastWritten.put(snapshot.target, json);
+    }
+
+    /**
+     * Write the text to a temp file in the target's directory, flush it to
+     * the device and rename it over the target
+     */
+    public static void writeAtomically(Path target, String content) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Write any pending autosave and stop the saver thread
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Level saver did not finish writing in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Snapshot {
+        final Level level;
+        final Path target;
+
+        Snapshot(Level level, Path target) {
+            this.level = level;
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.runner;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks that a level can be completed, by breadth-first search over player
+ * states using the game's own PlayerPhysics. Each BFS layer is one tick;
+ * the layer is expanded in parallel on a fork/join pool, with a concurrent
+ * visited set over discretized states (x, y, vertical speed, jumping).
+ * The first goal found is therefore reached in the fewest ticks.
+ *
+ * Usage: LevelSolver level1.json [level2.json ...]
+ */
+public class LevelSolver {
+    public static final double DEFAULT_WORLD_HEIGHT = 400;
+    public static final int DEFAULT_MAX_TICKS = 60 * Simulation.TICK_RATE;
+    public static final int DEFAULT_MAX_STATES = 4_000_000;
+
+    // Inputs tried from every state; jumping while already in a jump is the same as not jumping
+    private static final int[] MOVES = {
+            0, InputState.RIGHT, InputState.LEFT,
+            InputState.JUMP, InputState.RIGHT | InputState.JUMP, InputState.LEFT | InputState.JUMP
+    };
+    private static final int SPLIT_THRESHOLD = 512; // Frontier states expanded by one task
+
+    private static final ThreadLocal<PlayerPhysics> PHYSICS = ThreadLocal.withInitial(PlayerPhysics::new);
+
+    private final ForkJoinPool pool;
+    private double worldHeight = DEFAULT_WORLD_HEIGHT;
+    private int maxTicks = DEFAULT_MAX_TICKS;
+    private int maxStates = DEFAULT_MAX_STATES;
+    private volatile boolean cancelled;
+
+    public LevelSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public LevelSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void setWorldHeight(double worldHeight) {
+        this.worldHeight = worldHeight;
+    }
+
+    public void setMaxTicks(int maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+
+    public void setMaxStates(int maxStates) {
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * Stop the running search, and any later one on this solver, which then
+     * throws CancellationException. Can be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: LevelSolver <level.json> [<level.json> ...]");
+            System.exit(2);
+        }
+
+        LevelLoader loader = new LevelLoader();
+        LevelSolver solver = new LevelSolver();
+        int failures = 0;
+        for (String arg : args) {
+            Path input = Paths.get(arg);
+            try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                Result result = solver.solve(loader.parseLevel(reader));
+                System.out.println(input + ": " + result);
+                if (!result.isSolvable()) {
+                    failures++;
+                }
+            } catch (Exception e) {
+                System.err.println("Error solving " + input + ": " + e.getMessage());
+                failures++;
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Search for the shortest input sequence from the start position to the goal.
+     * Builds the level's spatial index; the level must hold all of its geometry.
+     */
+    public Result solve(Level level) {
+        long start = System.nanoTime();
+        if (level.getGoal() == null) {
+            return new Result(false, true, new int[0], 0, System.nanoTime() - start);
+        }
+        level.buildSpatialIndex();
+
+        Set<Long> visited = ConcurrentHashMap.newKeySet();
+        AtomicReference<Node> goal = new AtomicReference<>();
+        Node origin = new Node(null, 0, Simulation.START_X, Simulation.START_Y, 0, false);
+        visited.add(origin.key());
+
+        List<Node> frontier = List.of(origin);
+        int tick = 0;
+        while (!frontier.isEmpty() && goal.get() == null && tick < maxTicks && visited.size() < maxStates
+                && !cancelled) {
+            frontier = pool.invoke(new Expand(this, level, frontier, 0, frontier.size(), visited, goal));
+            tick++;
+        }
+        if (cancelled) {
+            throw new CancellationException("Level solver cancelled");
+        }
+
+        Node found = goal.get();
+        long elapsed = System.nanoTime() - start;
+        if (found == null) {
+            // Exhaustive only if the search ran out of states, not out of budget
+            return new Result(false, frontier.isEmpty(), new int[0], visited.size(), elapsed);
+        }
+        int[] inputs = new int[found.depth];
+        for (Node node = found; node.parent != null; node = node.parent) {
+            inputs[node.depth - 1] = node.move;
+        }
+        return new Result(true, true, inputs, visited.size(), elapsed);
+    }
+
+    /**
+     * Expands a slice of the frontier by one tick, returning the new states it discovered.
+     * Never serialized, although ForkJoinTask is Serializable.
+     */
+    @SuppressWarnings("serial")
+    private static class Expand extends RecursiveTask<List<Node>> {
+        private final LevelSolver solver;
+        private final Level level;
+        private final List<Node> frontier;
+        private final int from, to;
+        private final Set<Long> visited;
+        private final AtomicReference<Node> goal;
+
+        Expand(LevelSolver solver, Level level, List<Node> frontier, int from, int to,
+               Set<Long> visited, AtomicReference<Node> goal) {
+            this.solver = solver;
+            this.level = level;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.visited = visited;
+            this.goal = goal;
+        }
+
+        @Override
+        protected List<Node> compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                Expand left = new Expand(solver, level, frontier, from, mid, visited, goal);
+                left.fork();
+                List<Node> right = new Expand(solver, level, frontier, mid, to, visited, goal).compute();
+                List<Node> merged = left.join();
+                merged.addAll(right);
+                return merged;
+            }
+
+            PlayerPhysics physics = PHYSICS.get();
+            PlayerBody body = new PlayerBody();
+            InputState input = new InputState();
+            List<Node> next = new ArrayList<>();
+            for (int i = from; i < to && goal.get() == null && !solver.cancelled; i++) {
+                Node node = frontier.get(i);
+                for (int move : MOVES) {
+                    if (node.jumping && (move & InputState.JUMP) != 0) continue;
+
+                    body.set(node.x, node.y, node.velocityY, node.jumping);
+                    input.setBits(move);
+                    int outcome = physics.step(body, input, level, solver.worldHeight);
+                    if (outcome == PlayerPhysics.REACHED_GOAL) {
+                        goal.compareAndSet(null, new Node(node, move, body.x, body.y, body.velocityY, body.jumping));
+                        return next;
+                    }
+                    if (outcome != PlayerPhysics.NONE) continue;
+
+                    Node child = new Node(node, move, body.x, body.y, body.velocityY, body.jumping);
+                    if (visited.add(child.key())) {
+                        next.add(child);
+                    }
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * A reached state, linked back to the state and input it was reached from
+     */
+    private static final class Node {
+        final Node parent;
+        final int move;
+        final int depth;
+        final double x, y, velocityY;
+        final boolean jumping;
+
+        Node(Node parent, int move, double x, double y, double velocityY, boolean jumping) {
+            this.parent = parent;
+            this.move = move;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.x = x;
+            this.y = y;
+            this.velocityY = velocityY;
+            this.jumping = jumping;
+        }
+
+        // Position rounded to the pixel: x in 32 bits, y in 20, speed in 11, jumping in 1
+        long key() {
+            long kx = (int) Math.round(x) & 0xFFFFFFFFL;
+            long ky = (Math.round(y) + (1 << 19)) & 0xFFFFF;
+            long kv = (Math.round(velocityY) + (1 << 10)) & 0x7FF;
+            return kx << 32 | ky << 12 | kv << 1 | (jumping ? 1 : 0);
+        }
+    }
+
+    public static class Result {
+        private final boolean solvable;
+        private final boolean exhaustive;
+        private final int[] inputs;
+        private final long statesExplored;
+        private final long elapsedNanos;
+
+        Result(boolean solvable, boolean exhaustive, int[] inputs, long statesExplored, long elapsedNanos) {
+            this.solvable = solvable;
+            this.exhaustive = exhaustive;
+            this.inputs = inputs;
+            this.statesExplored = statesExplored;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public boolean isSolvable() {
+            return solvable;
+        }
+
+        /**
+         * False if the search stopped at the tick or state limit, so an
+         * unsolvable result may just mean the goal is too far away
+         */
+        public boolean isExhaustive() {
+            return exhaustive;
+        }
+
+        /**
+         * InputState bits for each tick of the shortest solution
+         */
+        public int[] getInputs() {
+            return inputs.clone();
+        }
+
+        public int getTicks() {
+            return inputs.length;
+        }
+
+        public long getStatesExplored() {
+            return statesExplored;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * The solution as a recording that replays in the game
+         */
+        public InputRecording toRecording(int levelNumber, double viewWidth, double worldHeight) {
+            InputRecording recording = new InputRecording(levelNumber, viewWidth, worldHeight);
+            InputState input = new InputState();
+            for (int bits : inputs) {
+                input.setBits(bits);
+                recording.record(input);
+            }
+            return recording;
+        }
+
+        @Override
+        public String toString() {
+            String outcome = solvable
+                    ? String.format("solvable in %d ticks (%.2fs)", inputs.length, (double) inputs.length / Simulation.TICK_RATE)
+                    : exhaustive ? "NOT solvable" : "not solved within the search limits";
+            return String.format("%s, %d states explored in %.1f ms", outcome, statesExplored, elapsedNanos / 1e6);
+        }
+    }
+}
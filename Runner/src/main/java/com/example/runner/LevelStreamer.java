@@ -0,0 +1,98 @@
+package com.example.runner;
+
+/**
+ * Keeps a window of chunks from a ChunkSource resident in a Level.
+ * Chunks are decoded as the camera approaches them and released once they
+ * fall far enough behind the player, so the resident geometry (and its
+ * spatial index) is bounded by the window size instead of the level length.
+ */
+public class LevelStreamer {
+    public static final double DEFAULT_CHUNK_WIDTH = 1024;
+
+    private final ChunkSource source;
+    private final Level level;
+
+    private double preloadDistance = 1024; // How far past the right edge of the view to decode
+    private double releaseDistance = 1024; // How far behind the player chunks stay resident
+
+    // Resident chunk range (inclusive), empty when firstChunk > lastChunk
+    private int firstChunk = 0;
+    private int lastChunk = -1;
+
+    public LevelStreamer(ChunkSource source) {
+        this.source = source;
+        this.level = new Level();
+        source.loadHeader(level);
+    }
+
+    /**
+     * The level holding only the resident chunks. Its geometry changes as
+     * update() moves the window, the instance itself stays the same.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    public ChunkSource getSource() {
+        return source;
+    }
+
+    public void setPreloadDistance(double preloadDistance) {
+        this.preloadDistance = preloadDistance;
+    }
+
+    public void setReleaseDistance(double releaseDistance) {
+        this.releaseDistance = releaseDistance;
+    }
+
+    /**
+     * Move the resident window to cover the view and the player.
+     * @return true if the resident geometry changed
+     */
+    public boolean update(double playerX, double cameraX, double viewWidth) {
+        double chunkWidth = source.getChunkWidth();
+        double windowMinX = Math.min(cameraX, playerX - releaseDistance);
+        double windowMaxX = Math.max(cameraX + viewWidth, playerX) + preloadDistance;
+
+        int first = (int) Math.max(0, Math.floor(windowMinX / chunkWidth));
+        int last = (int) Math.min(source.getChunkCount() - 1L, (long) Math.floor(windowMaxX / chunkWidth));
+        if (first == firstChunk && last == lastChunk) {
+            return false;
+        }
+
+        firstChunk = first;
+        lastChunk = last;
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Replace the level geometry with the chunks in the resident range
+     */
+    private void rebuild() {
+        level.clearGeometry();
+        for (int chunk = firstChunk; chunk <= lastChunk; chunk++) {
+            source.decodeChunk(chunk, chunk == firstChunk, level);
+        }
+        level.buildSpatialIndex();
+    }
+
+    /**
+     * Whether every object overlapping the x range is resident
+     */
+    public boolean isResident(double minX, double maxX) {
+        double chunkWidth = source.getChunkWidth();
+        long first = (long) Math.max(0, Math.floor(minX / chunkWidth));
+        long last = Math.min(source.getChunkCount() - 1L, (long) Math.floor(maxX / chunkWidth));
+        if (last < first) return true; // Nothing there
+        return first >= firstChunk && last <= lastChunk;
+    }
+
+    public int getFirstResidentChunk() {
+        return firstChunk;
+    }
+
+    public int getLastResidentChunk() {
+        return lastChunk;
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.runner;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import javafx.geometry.Rectangle2D;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks level JSON files in bulk: parse errors, missing goal, obstacles
+ * overlapping platforms, geometry outside the level, and a levelWidth that
+ * differs from Level.calculateLevelWidth(). Files are validated concurrently,
+ * on virtual threads where the JVM has them, and the results are printed as
+ * a JSON summary with per-file timing.
+ *
+ * Usage: LevelValidator [--out summary.json] <dir | file | glob> ...
+ * e.g. LevelValidator levels/ "more/**.json". Exits with status 1 if any
+ * file has errors.
+ */
+public class LevelValidator {
+    public static final String ERROR = "error";
+    public static final String WARNING = "warning";
+
+    private static final int MAX_REPORTED_OVERLAPS = 20;
+
+    private final double worldHeight;
+
+    public LevelValidator() {
+        this(LevelSolver.DEFAULT_WORLD_HEIGHT);
+    }
+
+    /**
+     * @param worldHeight geometry below this y is out of bounds
+     */
+    public LevelValidator(double worldHeight) {
+        this.worldHeight = worldHeight;
+    }
+
+    public static void main(String[] args) {
+        Path out = null;
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--out") && i + 1 < args.length) {
+                out = Paths.get(args[++i]);
+            } else {
+                patterns.add(args[i]);
+            }
+        }
+        if (patterns.isEmpty()) {
+            System.err.println("Usage: LevelValidator [--out summary.json] <dir | file | glob> ...");
+            System.exit(2);
+        }
+
+        try {
+            Set<Path> files = new LinkedHashSet<>();
+            for (String pattern : patterns) {
+                files.addAll(findLevelFiles(pattern));
+            }
+
+            JsonObject summary = new LevelValidator().validateAll(new ArrayList<>(files));
+            String json = new GsonBuilder().setPrettyPrinting().create().toJson(summary);
+            if (out != null) {
+                try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                    writer.write(json);
+                }
+            } else {
+                System.out.println(json);
+            }
+            System.exit(summary.get("errors").getAsInt() == 0 ? 0 : 1);
+        } catch (Exception e) {
+            System.err.println("Error validating levels: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * A directory (all .json files below it), a single file, or a glob such as "levels/*.json"
+     */
+    public static List<Path> findLevelFiles(String pattern) throws IOException {
+        int glob = indexOfGlob(pattern);
+        if (glob < 0) {
+            Path path = Paths.get(pattern);
+            if (!Files.isDirectory(path)) {
+                return List.of(path);
+            }
+            try (Stream<Path> walk = Files.walk(path)) {
+                return walk.filter(p -> Files.isRegularFile(p) && p.toString().endsWith(".json"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+
+        // Walk from the last directory before the first wildcard
+        int slash = Math.max(pattern.lastIndexOf('/', glob), pattern.lastIndexOf('\\', glob));
+        Path base = Paths.get(slash < 0 ? "." : pattern.substring(0, slash + 1));
+        PathMatcher matcher = FileSystems.getDefault()
+                .getPathMatcher("glob:" + pattern.substring(slash + 1));
+        try (Stream<Path> walk = Files.walk(base)) {
+            return walk.filter(p -> Files.isRegularFile(p) && matcher.matches(base.relativize(p)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static int indexOfGlob(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if ("*?[{".indexOf(pattern.charAt(i)) >= 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Validate the files concurrently and summarize the results, in input order
+     */
+    public JsonObject validateAll(List<Path> files) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = newVirtualThreadExecutor();
+        boolean virtual = executor != null;
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+
+        JsonArray results = new JsonArray();
+        int errors = 0, warnings = 0, valid = 0;
+        try {
+            List<Future<JsonObject>> futures = new ArrayList<>();
+            for (Path file : files) {
+                futures.add(executor.submit(() -> validate(file)));
+            }
+            for (Future<JsonObject> future : futures) {
+                JsonObject result = future.get();
+                results.add(result);
+                errors += result.get("errors").getAsInt();
+                warnings += result.get("warnings").getAsInt();
+                if (result.get("valid").getAsBoolean()) valid++;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        JsonObject summary = new JsonObject();
+        summary.addProperty("files", files.size());
+        summary.addProperty("valid", valid);
+        summary.addProperty("errors", errors);
+        summary.addProperty("warnings", warnings);
+        summary.addProperty("threads", virtual ? "virtual" : "platform");
+        summary.addProperty("elapsedMs", (System.nanoTime() - start) / 1e6);
+        summary.add("results", results);
+        return summary;
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() on JVMs that have it (21+), otherwise null
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse and check one file. Never throws; problems are reported as issues.
+     */
+    public JsonObject validate(Path file) {
+        long start = System.nanoTime();
+        JsonArray issues = new JsonArray();
+        JsonObject result = new JsonObject();
+        result.addProperty("file", file.toString());
+
+        Level level = null;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            level = new LevelLoader().parseLevel(reader);
+        } catch (Exception e) {
+            addIssue(issues, ERROR, "parse", String.valueOf(e.getMessage()));
+        }
+        long parsed = System.nanoTime();
+
+        if (level != null) {
+            check(level, issues);
+            result.addProperty("platforms", level.getPlatformLayer().size());
+            result.addProperty("obstacles", level.getObstacleLayer().size());
+        }
+
+        int errors = 0, warnings = 0;
+        for (int i = 0; i < issues.size(); i++) {
+            if (issues.get(i).getAsJsonObject().get("severity").getAsString().equals(ERROR)) {
+                errors++;
+            } else {
+                warnings++;
+            }
+        }
+        result.addProperty("valid", errors == 0);
+        result.addProperty("errors", errors);
+        result.addProperty("warnings", warnings);
+        result.addProperty("parseMs", (parsed - start) / 1e6);
+        result.addProperty("elapsedMs", (System.nanoTime() - start) / 1e6);
+        result.add("issues", issues);
+        return result;
+    }
+
+    /**
+     * Run every check on a parsed level, adding what it finds to issues
+     */
+    public void check(Level level, JsonArray issues) {
+        double declaredWidth = level.getLevelWidth();
+        level.calculateLevelWidth();
+        double calculatedWidth = level.getLevelWidth();
+        level.setLevelWidth(declaredWidth);
+
+        // Missing goal
+        Rectangle2D goal = level.getGoal();
+        if (goal == null) {
+            addIssue(issues, ERROR, "goal", "Level has no goal");
+        }
+
+        // Width
+        if (declaredWidth != calculatedWidth) {
+            addIssue(issues, WARNING, "levelWidth", "levelWidth " + declaredWidth
+                    + " differs from calculated width " + calculatedWidth);
+        }
+
+        // Bounds
+        checkBounds(level.getPlatformLayer(), "platform", declaredWidth, issues);
+        checkBounds(level.getObstacleLayer(), "obstacle", declaredWidth, issues);
+        if (goal != null) {
+            checkBox("goal", goal.getMinX(), goal.getMinY(), goal.getMaxX(), goal.getMaxY(), declaredWidth, issues);
+        }
+
+        // Obstacles overlapping platforms, through the platform grid
+        level.buildSpatialIndex();
+        GeometryLayer platforms = level.getPlatformLayer();
+        GeometryLayer obstacles = level.getObstacleLayer();
+        SpatialGrid.Hits hits = new SpatialGrid.Hits();
+        Aabb box = new Aabb();
+        int overlaps = 0;
+        for (int i = 0; i < obstacles.size(); i++) {
+            box.set(obstacles.getMinX(i), obstacles.getMinY(i),
+                    obstacles.getMaxX(i) - obstacles.getMinX(i), obstacles.getMaxY(i) - obstacles.getMinY(i));
+            level.getPlatformIndex().queryAabb(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY(), hits);
+            for (int k = 0; k < hits.size(); k++) {
+                int p = hits.get(k);
+                if (platforms.intersects(p, box)) {
+                    if (overlaps < MAX_REPORTED_OVERLAPS) {
+                        addIssue(issues, ERROR, "overlap", "obstacle " + i + " " + describe(obstacles, i)
+                                + " overlaps platform " + p + " " + describe(platforms, p));
+                    }
+                    overlaps++;
+                }
+            }
+        }
+        if (overlaps > MAX_REPORTED_OVERLAPS) {
+            addIssue(issues, ERROR, "overlap", (overlaps - MAX_REPORTED_OVERLAPS) + " more overlaps not listed");
+        }
+    }
+
+    private void checkBounds(GeometryLayer layer, String kind, double levelWidth, JsonArray issues) {
+        for (int i = 0; i < layer.size(); i++) {
+            checkBox(kind + " " + i, layer.getMinX(i), layer.getMinY(i), layer.getMaxX(i), layer.getMaxY(i),
+                    levelWidth, issues);
+        }
+    }
+
+    private void checkBox(String what, double minX, double minY, double maxX, double maxY,
+                          double levelWidth, JsonArray issues) {
+        if (!Double.isFinite(minX) || !Double.isFinite(minY) || !Double.isFinite(maxX) || !Double.isFinite(maxY)) {
+            addIssue(issues, ERROR, "bounds", what + " has non-finite coordinates");
+        } else if (maxX <= minX || maxY <= minY) {
+            addIssue(issues, ERROR, "bounds", what + " has no area");
+        } else if (minX < 0 || minY < 0 || maxX > levelWidth || maxY > worldHeight) {
+            addIssue(issues, ERROR, "bounds", what + " [" + minX + ", " + minY + ", " + maxX + ", " + maxY
+                    + "] is outside the level [0, 0, " + levelWidth + ", " + worldHeight + "]");
+        }
+    }
+
+    private static String describe(GeometryLayer layer, int i) {
+        return "[" + layer.getMinX(i) + ", " + layer.getMinY(i) + ", " + layer.getMaxX(i) + ", " + layer.getMaxY(i) + "]";
+    }
+
+    private static void addIssue(JsonArray issues, String severity, String check, String message) {
+        JsonObject issue = new JsonObject();
+        issue.addProperty("severity", severity);
+        issue.addProperty("check", check);
+        issue.addProperty("message", message);
+        issues.add(issue);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a directory of level<n>.json files and reports each level whose
+ * file was created or modified. Runs on its own daemon thread, which is also
+ * the thread the listener is called on, so listeners can parse the level
+ * there. Events arriving in quick succession are merged, since editors often
+ * write a file in several steps.
+ */
+public class LevelWatcher implements AutoCloseable {
+    private static final long SETTLE_MILLIS = 100;
+
+    public interface Listener {
+        void levelChanged(int levelNumber, Path file);
+    }
+
+    private final Path directory;
+    private final Listener listener;
+    private final WatchService watchService;
+
+    public LevelWatcher(Path directory, Listener listener) throws IOException {
+        this.directory = directory;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread thread = new Thread(this::run, "level-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Map<Integer, Path> changed = new TreeMap<>();
+                collect(watchService.take(), changed);
+                // Let a burst of events for the same save settle
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                for (Map.Entry<Integer, Path> entry : changed.entrySet()) {
+                    try {
+                        listener.levelChanged(entry.getKey(), entry.getValue());
+                    } catch (RuntimeException e) {
+                        System.err.println("Error reloading level " + entry.getKey() + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private void collect(WatchKey key, Map<Integer, Path> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            int levelNumber = LevelLibrary.levelNumberOf(file);
+            if (levelNumber > 0) {
+                changed.put(levelNumber, file);
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Error closing level watcher: " + e.getMessage());
+        }
+    }
+}
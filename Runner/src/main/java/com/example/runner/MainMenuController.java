@@ -1,59 +1,59 @@
 package com.example.runner;
 
 import javafx.fxml.FXML;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
+import javafx.scene.image.ImageView;
 import javafx.animation.PauseTransition;
 import javafx.util.Duration;
 import java.util.Optional;
 
-public class MainMenuController {
+public class MainMenuController implements SceneController {
+    @FXML private ImageView backgroundView;
+
     private Stage stage;
 
     public void setStage(Stage stage) {
         this.stage = stage;
     }
 
+    @FXML
+    private void initialize() {
+        // Decoded once at display size and shared through the image cache
+        backgroundView.setImage(ImageCache.getInstance().get("/com/example/runner/Domination.png",
+                backgroundView.getFitWidth(), backgroundView.getFitHeight()));
+    }
+
     @FXML
     private void handleStart() throws Exception {
         System.out.println("Start button clicked!");
-        // Load Game.fxml
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/Game.fxml"));
-        Scene gameScene = new Scene(loader.load(), 800, 600);
-        stage.setScene(gameScene);
+        // Switch to the game scene
+        GameController controller = SceneManager.getInstance().show(SceneManager.View.GAME);
 
         // Start the game
-        GameController controller = loader.getController();
         controller.startGame();
     }
 
+    @FXML
+    private void handleEndless() throws Exception {
+        System.out.println("Endless button clicked!");
+        GameController controller = SceneManager.getInstance().show(SceneManager.View.GAME);
+        controller.startEndless();
+    }
+
     @FXML
     private void handleOptions() throws Exception {
         System.out.println("Options button clicked!");
         // Switch to options scene
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/Options.fxml"));
-        Scene optionsScene = new Scene(loader.load(), 800, 600);
-        stage.setScene(optionsScene);
-
-        // Pass the stage to the options controller
-        OptionsController controller = loader.getController();
-        controller.setStage(stage);
+        SceneManager.getInstance().show(SceneManager.View.OPTIONS);
     }
 
     @FXML
     private void handleQuit() throws Exception {
         System.out.println("Quit button clicked!");
         // Switch to quit confirmation scene
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/QuitConfirm.fxml"));
-        Scene quitConfirmScene = new Scene(loader.load(), 800, 600);
-        stage.setScene(quitConfirmScene);
-
-        // Pass the stage to the quit confirm controller
-        QuitConfirmController controller = loader.getController();
-        controller.setStage(stage);
+        SceneManager.getInstance().show(SceneManager.View.QUIT_CONFIRM);
     }
 
 }
\ No newline at end of file
@@ -1,11 +1,9 @@
 package com.example.runner;
 
 import javafx.fxml.FXML;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 
-public class OptionsController {
+public class OptionsController implements SceneController {
     private Stage stage;
 
     public void setStage(Stage stage) {
@@ -26,12 +24,6 @@ public class OptionsController {
     private void handleBack() throws Exception {
         System.out.println("Returning to Main Menu!");  // Debug print
         // Switch back to main menu scene
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/MainMenu.fxml"));
-        Scene mainMenuScene = new Scene(loader.load(), 800, 600);
-        stage.setScene(mainMenuScene);
-
-        // Pass the stage back to the main menu controller
-        MainMenuController controller = loader.getController();
-        controller.setStage(stage);
+        SceneManager.getInstance().show(SceneManager.View.MAIN_MENU);
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+import java.util.List;
+
+/**
+ * In-memory ChunkSource built from a fully loaded Level.
+ * Geometry is packed into one double array per layer, grouped by owner
+ * chunk, so the source costs 32 bytes per object (plus 4 per further chunk
+ * a wide object reaches into) and the Level it was built from can be dropped.
+ */
+public class PackedChunkSource implements ChunkSource {
+    private final double chunkWidth;
+    private final int chunkCount;
+    private final PackedLayer platforms;
+    private final PackedLayer obstacles;
+
+    // Header
+    private final int levelId;
+    private final String levelName;
+    private final String backgroundPath;
+    private final List<BackgroundLayer> backgroundLayers;
+    private final Rectangle2D goal;
+    private final double levelWidth;
+
+    public PackedChunkSource(Level level) {
+        this(level, LevelStreamer.DEFAULT_CHUNK_WIDTH);
+    }
+
+    public PackedChunkSource(Level level, double chunkWidth) {
+        this.chunkWidth = chunkWidth;
+        this.levelId = level.getLevelId();
+        this.levelName = level.getLevelName();
+        this.backgroundPath = level.getBackgroundPath();
+        this.backgroundLayers = List.copyOf(level.getBackgroundLayers());
+        this.goal = level.getGoal();
+
+        GeometryLayer platformLayer = level.getPlatformLayer();
+        GeometryLayer obstacleLayer = level.getObstacleLayer();
+        double extent = Math.max(platformLayer.getExtentX(), obstacleLayer.getExtentX());
+        this.levelWidth = level.getLevelWidth();
+        this.chunkCount = Math.max(1, (int) Math.ceil(Math.max(extent, levelWidth) / chunkWidth));
+
+        this.platforms = new PackedLayer(platformLayer, chunkWidth, chunkCount);
+        this.obstacles = new PackedLayer(obstacleLayer, chunkWidth, chunkCount);
+    }
+
+    @Override
+    public double getChunkWidth() {
+        return chunkWidth;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    public void loadHeader(Level target) {
+        target.setLevelId(levelId);
+        target.setLevelName(levelName);
+        target.setBackgroundPath(backgroundPath);
+        target.setBackgroundLayers(backgroundLayers);
+        target.setGoal(goal);
+        target.setLevelWidth(levelWidth);
+    }
+
+    @Override
+    public void decodeChunk(int chunk, boolean first, Level target) {
+        platforms.decode(chunk, first, target.getPlatformLayer());
+        obstacles.decode(chunk, first, target.getObstacleLayer());
+    }
+
+    /**
+     * One layer's boxes as packed (x, y, width, height) quads in chunk order
+     */
+    private static class PackedLayer {
+        // chunkStart[c]..chunkStart[c + 1] are the box numbers owned by chunk c
+        final int[] chunkStart;
+        final double[] boxes;
+        final ChunkContinuations continuations;
+
+        PackedLayer(GeometryLayer layer, double chunkWidth, int chunkCount) {
+            int count = layer.size();
+            int[] chunkOf = new int[count];
+            chunkStart = new int[chunkCount + 1];
+            for (int i = 0; i < count; i++) {
+                int chunk = ChunkContinuations.chunkOf(layer.getMinX(i), chunkWidth, chunkCount);
+                chunkOf[i] = chunk;
+                chunkStart[chunk + 1]++;
+            }
+            for (int c = 0; c < chunkCount; c++) {
+                chunkStart[c + 1] += chunkStart[c];
+            }
+
+            // Keep level order within each chunk
+            boxes = new double[count * 4];
+            double[] maxX = new double[count];
+            int[] cursor = new int[chunkCount];
+            System.arraycopy(chunkStart, 0, cursor, 0, chunkCount);
+            for (int i = 0; i < count; i++) {
+                int b = cursor[chunkOf[i]]++;
+                int at = b * 4;
+                boxes[at] = layer.getMinX(i);
+                boxes[at + 1] = layer.getMinY(i);
+                boxes[at + 2] = layer.getMaxX(i) - layer.getMinX(i);
+                boxes[at + 3] = layer.getMaxY(i) - layer.getMinY(i);
+                maxX[b] = layer.getMaxX(i);
+            }
+            continuations = ChunkContinuations.of(chunkStart, maxX, chunkWidth);
+        }
+
+        void decode(int chunk, boolean first, GeometryLayer target) {
+            int end = chunkStart[chunk + 1];
+            if (first) {
+                int[] reaching = continuations.boxes;
+                int last = continuations.start[chunk + 1];
+                target.ensureCapacity(target.size() + last - continuations.start[chunk]);
+                for (int k = continuations.start[chunk]; k < last; k++) {
+                    add(reaching[k], target);
+                }
+            }
+            target.ensureCapacity(target.size() + end - chunkStart[chunk]);
+            for (int b = chunkStart[chunk]; b < end; b++) {
+                add(b, target);
+            }
+        }
+
+        private void add(int b, GeometryLayer target) {
+            int at = b * 4;
+            target.add(boxes[at], boxes[at + 1], boxes[at + 2], boxes[at + 3]);
+        }
+    }
+}
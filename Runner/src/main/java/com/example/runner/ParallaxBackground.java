@@ -0,0 +1,76 @@
+package com.example.runner;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parallax background layers of a level, decoded once at view height
+ * so each frame draws them with unscaled 1:1 image blits, tiled
+ * horizontally as the camera moves.
+ */
+public class ParallaxBackground {
+    private final Image[] images;
+    private final double[] parallax;
+
+    private ParallaxBackground(List<Image> images, List<Double> parallax) {
+        this.images = images.toArray(new Image[0]);
+        this.parallax = new double[parallax.size()];
+        for (int i = 0; i < this.parallax.length; i++) {
+            this.parallax[i] = parallax.get(i);
+        }
+    }
+
+    /**
+     * Decode (through the image cache) the level's layers at the given height.
+     * A level without layers gets its backgroundPath image as a single layer.
+     * Safe to call off the JavaFX thread.
+     */
+    public static ParallaxBackground load(Level level, double height) {
+        List<BackgroundLayer> layers = level.getBackgroundLayers();
+        if (layers.isEmpty() && level.getBackgroundPath() != null) {
+            layers = List.of(new BackgroundLayer(level.getBackgroundPath(), BackgroundLayer.DEFAULT_PARALLAX));
+        }
+
+        List<Image> images = new ArrayList<>();
+        List<Double> parallax = new ArrayList<>();
+        for (BackgroundLayer layer : layers) {
+            // Width 0 keeps the natural width while the height is scaled to the view
+            Image image = ImageCache.getInstance().get(layer.getPath(), 0, height);
+            if (image != null && image.getWidth() > 0) {
+                images.add(image);
+                parallax.add(layer.getParallax());
+            }
+        }
+        return new ParallaxBackground(images, parallax);
+    }
+
+    public int getLayerCount() {
+        return images.length;
+    }
+
+    /**
+     * Draw every layer back to front, or a plain sky if there are none
+     */
+    public void draw(GraphicsContext gc, double cameraX, double viewWidth, double viewHeight) {
+        if (images.length == 0) {
+            gc.setFill(Color.CYAN);
+            gc.fillRect(0, 0, viewWidth, viewHeight);
+            return;
+        }
+
+        for (int i = 0; i < images.length; i++) {
+            Image image = images[i];
+            double width = image.getWidth();
+
+            // Whole-pixel offset of the first tile, in (-width, 0]
+            double offset = (cameraX * parallax[i]) % width;
+            if (offset < 0) offset += width;
+            for (double x = -Math.round(offset); x < viewWidth; x += width) {
+                gc.drawImage(image, x, 0);
+            }
+        }
+    }
+}
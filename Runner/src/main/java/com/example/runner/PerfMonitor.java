@@ -0,0 +1,98 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Application-wide timing histograms for the game loop phases, plus
+ * garbage collector totals. Cheap enough to stay on in normal play.
+ */
+public final class PerfMonitor {
+    private static final PerfMonitor INSTANCE = new PerfMonitor();
+
+    private final TimingHistogram frame = new TimingHistogram("frame");
+    private final TimingHistogram update = new TimingHistogram("update");
+    private final TimingHistogram render = new TimingHistogram("render");
+    private final TimingHistogram levelLoad = new TimingHistogram("levelLoad");
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private PerfMonitor() {
+    }
+
+    public static PerfMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Time between two pulses of the game loop
+     */
+    public TimingHistogram getFrame() {
+        return frame;
+    }
+
+    /**
+     * One simulation tick
+     */
+    public TimingHistogram getUpdate() {
+        return update;
+    }
+
+    public TimingHistogram getRender() {
+        return render;
+    }
+
+    /**
+     * Preparing a level (geometry and background), on whichever thread did it
+     */
+    public TimingHistogram getLevelLoad() {
+        return levelLoad;
+    }
+
+    /**
+     * Collections run by all collectors since the JVM started
+     */
+    public long getGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    /**
+     * Approximate time spent collecting since the JVM started
+     */
+    public long getGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    public void reset() {
+        frame.reset();
+        update.reset();
+        render.reset();
+        levelLoad.reset();
+    }
+
+    /**
+     * Write every histogram, with its buckets, as text
+     */
+    public void dump(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# Timings in nanoseconds; bucket lines are: lower upper count");
+            for (TimingHistogram histogram : List.of(frame, update, render, levelLoad)) {
+                histogram.writeTo(out);
+            }
+            out.println("gc: collections=" + getGcCount() + " timeMs=" + getGcTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.runner;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import java.util.Arrays;
+
+/**
+ * Performance readout drawn over the game: FPS, frame/update/render time
+ * percentiles and GC activity. The text is rebuilt twice a second, so
+ * drawing it does not allocate every frame.
+ */
+public class PerfOverlay {
+    private static final long REFRESH_NANOS = 500_000_000L;
+    private static final double WIDTH = 330;
+    private static final double LINE_HEIGHT = 16;
+    private static final Font FONT = Font.font("Monospaced", 12);
+
+    private final PerfMonitor monitor = PerfMonitor.getInstance();
+    private boolean visible;
+
+    // Current refresh window
+    private long windowStart = -1;
+    private int windowFrames;
+    private long windowGcCount;
+    private long windowGcTime;
+
+    private final String[] lines = new String[5];
+
+    public PerfOverlay() {
+        Arrays.fill(lines, "");
+    }
+
+    public void toggle() {
+        visible = !visible;
+        windowStart = -1;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Count a rendered frame and refresh the text when the window is over
+     */
+    public void frame(long now) {
+        if (!visible) return;
+        if (windowStart < 0) {
+            startWindow(now);
+            return;
+        }
+        windowFrames++;
+
+        long elapsed = now - windowStart;
+        if (elapsed < REFRESH_NANOS) return;
+
+        long gcCount = monitor.getGcCount();
+        long gcTime = monitor.getGcTimeMillis();
+        lines[0] = String.format("FPS %.1f", windowFrames * 1e9 / elapsed);
+        lines[1] = format(monitor.getFrame());
+        lines[2] = format(monitor.getUpdate());
+        lines[3] = format(monitor.getRender());
+        lines[4] = String.format("GC %d in %d ms (total %d, %d ms)",
+                gcCount - windowGcCount, gcTime - windowGcTime, gcCount, gcTime);
+        startWindow(now);
+    }
+
+    private void startWindow(long now) {
+        windowStart = now;
+        windowFrames = 0;
+        windowGcCount = monitor.getGcCount();
+        windowGcTime = monitor.getGcTimeMillis();
+    }
+
+    private static String format(TimingHistogram histogram) {
+        return String.format("%-6s p50 %6.2f p99 %6.2f max %6.2f ms", histogram.getName(),
+                histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6);
+    }
+
+    public void draw(GraphicsContext gc, double canvasWidth) {
+        if (!visible) return;
+        double x = canvasWidth - WIDTH - 10;
+        double y = 10;
+
+        gc.setFill(Color.rgb(0, 0, 0, 0.6));
+        gc.fillRect(x, y, WIDTH, lines.length * LINE_HEIGHT + 8);
+        gc.setFill(Color.WHITE);
+        gc.setFont(FONT);
+        for (int i = 0; i < lines.length; i++) {
+            gc.fillText(lines[i], x + 6, y + (i + 1) * LINE_HEIGHT);
+        }
+    }
+}
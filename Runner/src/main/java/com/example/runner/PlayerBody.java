@@ -0,0 +1,46 @@
+package com.example.runner;
+
+/**
+ * Physical state of the player: position of the top-left corner,
+ * vertical velocity and whether a jump is in progress.
+ */
+public class PlayerBody {
+    double x;
+    double y;
+    double velocityY;
+    boolean jumping;
+
+    public void set(double x, double y, double velocityY, boolean jumping) {
+        this.x = x;
+        this.y = y;
+        this.velocityY = velocityY;
+        this.jumping = jumping;
+    }
+
+    /**
+     * Place the player at rest
+     */
+    public void reset(double x, double y) {
+        set(x, y, 0, false);
+    }
+
+    public void copyFrom(PlayerBody other) {
+        set(other.x, other.y, other.velocityY, other.jumping);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    public boolean isJumping() {
+        return jumping;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Moves the player one fixed tick through a level: input, gravity and
+ * collision against the level's platforms, obstacles and goal.
+ * Stateless apart from reusable scratch buffers, so one instance can step
+ * any number of bodies, but it must not be shared between threads.
+ */
+public class PlayerPhysics {
+    // Per tick, at Simulation.TICK_RATE
+    public static final double PLAYER_SPEED = 5;
+    public static final double PLAYER_SIZE = 50;
+    public static final double GRAVITY = 1;
+    public static final double JUMP_VELOCITY = -20;
+
+    // Outcomes of step()
+    public static final int NONE = 0;
+    public static final int FELL = 1;
+    public static final int HIT_OBSTACLE = 2;
+    public static final int REACHED_GOAL = 3;
+
+    // A contact stops one axis for the rest of the tick, so after two
+    // contacts nothing is left to move
+    private static final int MAX_CONTACTS = 2;
+
+    private final SpatialGrid.Hits hits = new SpatialGrid.Hits();
+    // Corners of the resolved path this tick, reused to keep step() allocation-free
+    private final double[] pathX = new double[MAX_CONTACTS + 2];
+    private final double[] pathY = new double[MAX_CONTACTS + 2];
+    private int pathLength;
+    // Results of sweepAxis()
+    private double axisEntry;
+    private double axisExit;
+    // Results of sweepBoth()
+    private double entryX;
+    private double entryY;
+    private double sweepExit;
+
+    /**
+     * Advance the body by one tick.
+     * The player's box is swept along its velocity rather than moved and then
+     * tested for overlap, so it cannot tunnel through platforms, obstacles or
+     * the goal however far it moves in a tick. Platforms stop the box at the
+     * earliest time of impact; the rest of the move slides along the surface.
+     * @param worldHeight the player falls out of the world below this y
+     * @return NONE, FELL, HIT_OBSTACLE or REACHED_GOAL
+     */
+    public int step(PlayerBody body, InputState input, Level level, double worldHeight) {
+        // Jump (requested by key press, applied at the tick boundary)
+        if (input.isJump() && !body.jumping) {
+            body.jumping = true;
+            body.velocityY = JUMP_VELOCITY;
+        }
+
+        // Horizontal movement
+        double velocityX = 0;
+        if (input.isLeft()) velocityX = -PLAYER_SPEED;
+        if (input.isRight()) velocityX = PLAYER_SPEED;
+
+        // Gravity
+        body.velocityY += GRAVITY;
+
+        // Target position, with the player kept within level bounds
+        double targetX = Math.max(0, Math.min(body.x + velocityX, level.getLevelWidth() - PLAYER_SIZE));
+        double targetY = body.y + body.velocityY;
+
+        // Everything the move can touch lies in the box spanning start and target
+        double sweepMinX = Math.min(body.x, targetX);
+        double sweepMinY = Math.min(body.y, targetY);
+        double sweepMaxX = Math.max(body.x, targetX) + PLAYER_SIZE;
+        double sweepMaxY = Math.max(body.y, targetY) + PLAYER_SIZE;
+
+        GeometryLayer platforms = level.getPlatformLayer();
+        level.getPlatformIndex().queryAabb(sweepMinX, sweepMinY, sweepMaxX, sweepMaxY, hits);
+
+        pathX[0] = body.x;
+        pathY[0] = body.y;
+        pathLength = 1;
+        for (int contact = 0; contact <= MAX_CONTACTS; contact++) {
+            double moveX = targetX - body.x;
+            double moveY = targetY - body.y;
+
+            // Earliest platform hit, ties going to the first in level order
+            int hitIndex = -1;
+            double hitTime = 1;
+            boolean hitY = false;
+            for (int i = 0; i < hits.size(); i++) {
+                int candidate = hits.get(i);
+                sweepBoth(body.x, body.y, moveX, moveY, platforms.getMinX(candidate), platforms.getMinY(candidate),
+                        platforms.getMaxX(candidate), platforms.getMaxY(candidate));
+                double entry = Math.max(entryX, entryY);
+                // Already overlapping at the start: let the player move out of it
+                if (entry < 0 || entry >= sweepExit || entry >= 1) continue;
+                if (hitIndex < 0 || entry < hitTime || (entry == hitTime && candidate < hitIndex)) {
+                    hitIndex = candidate;
+                    hitTime = entry;
+                    // The axis that started overlapping last is the one that made contact
+                    hitY = entryY >= entryX;
+                }
+            }
+
+            if (hitIndex < 0) {
+                body.x = targetX;
+                body.y = targetY;
+                addPathPoint(body.x, body.y);
+                break;
+            }
+
+            // Move to the contact, snapped to the platform edge, and stop that axis
+            if (hitY) {
+                body.x += moveX * hitTime;
+                if (moveY > 0) {
+                    body.y = platforms.getMinY(hitIndex) - PLAYER_SIZE;
+                    body.jumping = false;
+                } else {
+                    body.y = platforms.getMaxY(hitIndex);
+                }
+                body.velocityY = 0;
+                targetY = body.y;
+            } else {
+                body.y += moveY * hitTime;
+                body.x = moveX > 0 ? platforms.getMinX(hitIndex) - PLAYER_SIZE : platforms.getMaxX(hitIndex);
+                targetX = body.x;
+            }
+            addPathPoint(body.x, body.y);
+        }
+
+        // Fall out of the world
+        if (body.y > worldHeight) {
+            return FELL;
+        }
+
+        // Check collision with obstacles anywhere along the path
+        GeometryLayer obstacles = level.getObstacleLayer();
+        level.getObstacleIndex().queryAabb(sweepMinX, sweepMinY, sweepMaxX, sweepMaxY, hits);
+        for (int i = 0; i < hits.size(); i++) {
+            int obstacle = hits.get(i);
+            if (pathTouches(obstacles.getMinX(obstacle), obstacles.getMinY(obstacle),
+                    obstacles.getMaxX(obstacle), obstacles.getMaxY(obstacle))) {
+                return HIT_OBSTACLE;
+            }
+        }
+
+        // Check if reached goal
+        Rectangle2D goal = level.getGoal();
+        if (goal != null && pathTouches(goal.getMinX(), goal.getMinY(), goal.getMaxX(), goal.getMaxY())) {
+            return REACHED_GOAL;
+        }
+        return NONE;
+    }
+
+    private void addPathPoint(double x, double y) {
+        if (x != pathX[pathLength - 1] || y != pathY[pathLength - 1]) {
+            pathX[pathLength] = x;
+            pathY[pathLength] = y;
+            pathLength++;
+        }
+    }
+
+    /**
+     * Whether the player's box overlaps the box at any point of this tick's path
+     */
+    private boolean pathTouches(double minX, double minY, double maxX, double maxY) {
+        // A path that never moved is a single point, checked as an empty move
+        int segments = Math.max(1, pathLength - 1);
+        for (int s = 0; s < segments; s++) {
+            int end = Math.min(s + 1, pathLength - 1);
+            sweepBoth(pathX[s], pathY[s], pathX[end] - pathX[s], pathY[end] - pathY[s], minX, minY, maxX, maxY);
+            double entry = Math.max(entryX, entryY);
+            if (entry < sweepExit && entry < 1 && sweepExit > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sweep the player's box from (x, y) by (moveX, moveY) against a static box.
+     * Sets entryX and entryY, the fractions of the move at which each axis
+     * starts to overlap, and sweepExit, when the first axis stops overlapping.
+     * The boxes overlap while max(entryX, entryY) &lt; t &lt; sweepExit; as with
+     * Rectangle2D.intersects, touching edges do not count.
+     */
+    private void sweepBoth(double x, double y, double moveX, double moveY,
+                           double minX, double minY, double maxX, double maxY) {
+        sweepAxis(x, moveX, minX, maxX);
+        entryX = axisEntry;
+        double exitX = axisExit;
+        sweepAxis(y, moveY, minY, maxY);
+        entryY = axisEntry;
+        sweepExit = Math.min(exitX, axisExit);
+    }
+
+    // The open interval of move fractions in which [pos, pos + PLAYER_SIZE] overlaps [min, max]
+    private void sweepAxis(double pos, double move, double min, double max) {
+        if (move > 0) {
+            axisEntry = (min - (pos + PLAYER_SIZE)) / move;
+            axisExit = (max - pos) / move;
+        } else if (move < 0) {
+            axisEntry = (max - pos) / move;
+            axisExit = (min - (pos + PLAYER_SIZE)) / move;
+        } else if (pos + PLAYER_SIZE > min && pos < max) {
+            axisEntry = Double.NEGATIVE_INFINITY;
+            axisExit = Double.POSITIVE_INFINITY;
+        } else {
+            axisEntry = Double.POSITIVE_INFINITY;
+            axisExit = Double.NEGATIVE_INFINITY;
+        }
+    }
+}
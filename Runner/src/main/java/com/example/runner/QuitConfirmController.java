@@ -1,13 +1,11 @@
 package com.example.runner;
 
 import javafx.fxml.FXML;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import javafx.animation.PauseTransition;
 import javafx.util.Duration;
 
-public class QuitConfirmController {
+public class QuitConfirmController implements SceneController {
     private Stage stage;
 
     public void setStage(Stage stage) {
@@ -31,12 +29,6 @@ public class QuitConfirmController {
     private void handleNo() throws Exception {
         System.out.println("No clicked. Returning to Main Menu.");
         // Switch към main menu
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/MainMenu.fxml"));
-        Scene mainMenuScene = new Scene(loader.load(), 800, 600);
-        stage.setScene(mainMenuScene);
-
-        // Пак към MenuController
-        MainMenuController controller = loader.getController();
-        controller.setStage(stage);
+        SceneManager.getInstance().show(SceneManager.View.MAIN_MENU);
     }
 }
\ No newline at end of file
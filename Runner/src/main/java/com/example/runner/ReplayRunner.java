@@ -0,0 +1,79 @@
+package com.example.runner;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Replays input recordings headless, as fast as the CPU allows, and reports
+ * how each run went: when every level was completed, how it ended and
+ * whether that matches the outcome stored in the recording.
+ *
+ * Usage: ReplayRunner run1.rrec [run2.rrec ...]
+ * Exits with status 1 if any replay diverged from its recording.
+ */
+public class ReplayRunner {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayRunner <run.rrec> [<run.rrec> ...]");
+            System.exit(2);
+        }
+
+        int failures = 0;
+        for (String arg : args) {
+            Path file = Paths.get(arg);
+            try {
+                if (!replay(file)) {
+                    failures++;
+                }
+            } catch (Exception e) {
+                System.err.println("Error replaying " + file + ": " + e.getMessage());
+                failures++;
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * @return true if the replay ended the way the recording says it did
+     */
+    public static boolean replay(Path file) throws Exception {
+        InputRecording recording = InputRecording.load(file);
+        Simulation simulation = recording.createSimulation(LevelLibrary::stream);
+        StringBuilder completions = new StringBuilder();
+        simulation.setListener(new Simulation.Listener() {
+            @Override
+            public void onLevelComplete(Simulation sim, int completedLevel) {
+                completions.append(String.format("  level %d completed at tick %d (%.2fs)%n",
+                        completedLevel, sim.getTick(), (double) sim.getTick() / Simulation.TICK_RATE));
+            }
+        });
+
+        long start = System.nanoTime();
+        run(recording, simulation);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        boolean matches = recording.getEndTick() < 0 || recording.matches(simulation);
+        System.out.printf("%s: %d ticks, %s, score %d, replayed at %.0f ticks/s%s%n",
+                file, simulation.getTick(), simulation.getStatus(), simulation.getScore(),
+                simulation.getTick() / Math.max(seconds, 1e-9), matches ? "" : " - DIVERGED");
+        System.out.print(completions);
+        if (!matches) {
+            System.out.printf("  recorded: %d ticks, %s, score %d%n",
+                    recording.getEndTick(), recording.getEndStatus(), recording.getEndScore());
+        }
+        return matches;
+    }
+
+    /**
+     * Start the simulation and feed it the recording until either runs out
+     */
+    public static void run(InputRecording recording, Simulation simulation) {
+        InputState input = new InputState();
+        InputRecording.Cursor cursor = recording.cursor();
+        simulation.start(recording.getFirstLevel());
+        while (simulation.isRunning() && cursor.next(input)) {
+            simulation.step(input);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.runner;
+
+import javafx.stage.Stage;
+
+/**
+ * Controller of a scene pooled by SceneManager. The scene and controller
+ * are created once and reused, so per-visit state is reset in onShow().
+ */
+public interface SceneController {
+    void setStage(Stage stage);
+
+    /**
+     * Called every time the scene is shown, including the first time
+     */
+    default void onShow() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.runner;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Loads each game screen's FXML once and reuses its Scene and controller
+ * for every later navigation, instead of re-parsing FXML and rebuilding the
+ * node graph on each switch.
+ */
+public final class SceneManager {
+    public static final double WIDTH = 800;
+    public static final double HEIGHT = 600;
+
+    public enum View {
+        MAIN_MENU("MainMenu.fxml"),
+        OPTIONS("Options.fxml"),
+        QUIT_CONFIRM("QuitConfirm.fxml"),
+        GAME("Game.fxml"),
+        GAME_OVER("GameOver.fxml");
+
+        private final String fxml;
+
+        View(String fxml) {
+            this.fxml = fxml;
+        }
+    }
+
+    private static SceneManager instance;
+
+    private final Stage stage;
+    private final Map<View, Scene> scenes = new EnumMap<>(View.class);
+    private final Map<View, SceneController> controllers = new EnumMap<>(View.class);
+
+    private SceneManager(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Create the manager for the primary stage. Call once from Application.start().
+     */
+    public static SceneManager init(Stage stage) {
+        instance = new SceneManager(stage);
+        return instance;
+    }
+
+    public static SceneManager getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("SceneManager.init() has not been called");
+        }
+        return instance;
+    }
+
+    /**
+     * Switch the stage to a view, loading it on first use
+     * @return the view's controller
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SceneController> T show(View view) throws IOException {
+        load(view);
+        SceneController controller = controllers.get(view);
+        stage.setScene(scenes.get(view));
+        controller.onShow();
+        return (T) controller;
+    }
+
+    /**
+     * Load views ahead of time so their first navigation is instant
+     */
+    public void warmUp(View... views) {
+        for (View view : views) {
+            try {
+                load(view);
+            } catch (IOException e) {
+                System.err.println("Error preloading " + view + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void load(View view) throws IOException {
+        if (scenes.containsKey(view)) return;
+
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/runner/" + view.fxml));
+        Scene scene = new Scene(loader.load(), WIDTH, HEIGHT);
+        SceneController controller = loader.getController();
+        controller.setStage(stage);
+
+        scenes.put(view, scene);
+        controllers.put(view, controller);
+    }
+}
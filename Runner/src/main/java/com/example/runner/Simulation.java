@@ -0,0 +1,225 @@
+package com.example.runner;
+
+/**
+ * The game logic without any rendering or windowing: player physics,
+ * camera, scoring, level streaming and level progression, advanced one
+ * fixed tick at a time by step(). Runs headless, so it can be fast-forwarded,
+ * replayed and benchmarked without a display.
+ */
+public class Simulation {
+    public static final int TICK_RATE = 60;
+    public static final double START_X = 100;
+    public static final double START_Y = 300;
+    public static final double CAMERA_OFFSET = 300; // Keep player this far from left edge
+    public static final double CAMERA_SMOOTHNESS = 0.1; // Camera follow smoothness (0-1)
+    public static final int LEVEL_SCORE = 100;
+
+    public enum Status {
+        STOPPED,   // Not started yet
+        RUNNING,
+        GAME_OVER, // The player fell or hit an obstacle
+        COMPLETE   // The last level was finished
+    }
+
+    /**
+     * Supplies the levels of a run. Called on the simulation thread when a
+     * level starts; the returned streamer may already have chunks resident.
+     */
+    @FunctionalInterface
+    public interface LevelProvider {
+        LevelStreamer load(int levelNumber);
+    }
+
+    /**
+     * Notified from step() when the run changes state
+     */
+    public interface Listener {
+        default void onLevelComplete(Simulation simulation, int completedLevel) {
+        }
+
+        default void onGameOver(Simulation simulation) {
+        }
+
+        default void onGameComplete(Simulation simulation) {
+        }
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+
+    private final LevelProvider levels;
+    private final double viewWidth;
+    private final double worldHeight;
+    private final PlayerPhysics physics = new PlayerPhysics();
+    private final PlayerBody player = new PlayerBody();
+    private Listener listener = NO_LISTENER;
+    private int maxLevels = LevelLibrary.LEVEL_COUNT;
+    private double distancePerPoint; // 0 scores levels only
+
+    private Status status = Status.STOPPED;
+    private long tick;
+    private int levelNumber;
+    private int score;
+    private double cameraX;
+    private LevelStreamer streamer;
+    private Level level;
+
+    /**
+     * @param viewWidth width of the camera window, in world units
+     * @param worldHeight the player falls out of the world below this y
+     */
+    public Simulation(LevelProvider levels, double viewWidth, double worldHeight) {
+        this.levels = levels;
+        this.viewWidth = viewWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : NO_LISTENER;
+    }
+
+    public void setMaxLevels(int maxLevels) {
+        this.maxLevels = maxLevels;
+    }
+
+    /**
+     * Also score a point for every distancePerPoint the player gets past the
+     * start, as in endless mode. 0 (the default) turns distance scoring off.
+     */
+    public void setDistanceScoring(double distancePerPoint) {
+        this.distancePerPoint = distancePerPoint;
+    }
+
+    /**
+     * Start a new run at the given level
+     */
+    public void start(int firstLevel) {
+        tick = 0;
+        score = 0;
+        levelNumber = firstLevel;
+        enterLevel(levels.load(firstLevel));
+        status = Status.RUNNING;
+    }
+
+    /**
+     * Advance one tick. Does nothing unless the run is in progress.
+     */
+    public void step(InputState input) {
+        if (status != Status.RUNNING) return;
+        tick++;
+
+        streamer.update(player.x, cameraX, viewWidth);
+        int outcome = physics.step(player, input, level, worldHeight);
+        updateCamera();
+        if (distancePerPoint > 0) {
+            score = Math.max(score, (int) ((player.x - START_X) / distancePerPoint));
+        }
+
+        if (outcome == PlayerPhysics.FELL || outcome == PlayerPhysics.HIT_OBSTACLE) {
+            status = Status.GAME_OVER;
+            listener.onGameOver(this);
+        } else if (outcome == PlayerPhysics.REACHED_GOAL) {
+            completeLevel();
+        }
+    }
+
+    /**
+     * Run up to the given number of ticks with the same input, stopping early
+     * if the run ends
+     * @return the number of ticks actually run
+     */
+    public int run(InputState input, int ticks) {
+        int ran = 0;
+        while (ran < ticks && status == Status.RUNNING) {
+            step(input);
+            ran++;
+        }
+        return ran;
+    }
+
+    private void completeLevel() {
+        score += LEVEL_SCORE;
+        int completed = levelNumber;
+        if (levelNumber < maxLevels) {
+            levelNumber++;
+            enterLevel(levels.load(levelNumber));
+            listener.onLevelComplete(this, completed);
+        } else {
+            status = Status.COMPLETE;
+            listener.onLevelComplete(this, completed);
+            listener.onGameComplete(this);
+        }
+    }
+
+    /**
+     * Swap in a new version of the current level, keeping the player, camera,
+     * tick and score. Call between steps, e.g. to hot-reload an edited level.
+     */
+    public void replaceLevel(LevelStreamer streamer) {
+        this.streamer = streamer;
+        this.level = streamer.getLevel();
+        streamer.update(player.x, cameraX, viewWidth);
+    }
+
+    private void enterLevel(LevelStreamer streamer) {
+        this.streamer = streamer;
+        this.level = streamer.getLevel();
+        player.reset(START_X, START_Y);
+        cameraX = 0;
+    }
+
+    private void updateCamera() {
+        // Follow the player (smooth scrolling), never past either end of the level
+        double targetCameraX = Math.max(0, player.x - CAMERA_OFFSET);
+        double maxCameraX = Math.max(0, level.getLevelWidth() - viewWidth);
+        targetCameraX = Math.min(targetCameraX, maxCameraX);
+        cameraX += (targetCameraX - cameraX) * CAMERA_SMOOTHNESS;
+    }
+
+    public void snapshot(SimulationState out) {
+        out.set(tick, status, levelNumber, score, player, cameraX);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getLevelNumber() {
+        return levelNumber;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public double getCameraX() {
+        return cameraX;
+    }
+
+    public PlayerBody getPlayer() {
+        return player;
+    }
+
+    /**
+     * The current level, holding only the chunks resident around the camera
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    public double getViewWidth() {
+        return viewWidth;
+    }
+
+    public double getWorldHeight() {
+        return worldHeight;
+    }
+}
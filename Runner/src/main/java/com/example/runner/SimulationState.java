@@ -0,0 +1,78 @@
+package com.example.runner;
+
+/**
+ * Copy of the simulation state after a tick. The view keeps the snapshots
+ * of the last two ticks and interpolates between them when rendering.
+ */
+public class SimulationState {
+    private long tick;
+    private Simulation.Status status = Simulation.Status.STOPPED;
+    private int levelNumber;
+    private int score;
+    private double playerX;
+    private double playerY;
+    private double velocityY;
+    private boolean jumping;
+    private double cameraX;
+
+    void set(long tick, Simulation.Status status, int levelNumber, int score,
+             PlayerBody player, double cameraX) {
+        this.tick = tick;
+        this.status = status;
+        this.levelNumber = levelNumber;
+        this.score = score;
+        this.playerX = player.x;
+        this.playerY = player.y;
+        this.velocityY = player.velocityY;
+        this.jumping = player.jumping;
+        this.cameraX = cameraX;
+    }
+
+    public void copyFrom(SimulationState other) {
+        this.tick = other.tick;
+        this.status = other.status;
+        this.levelNumber = other.levelNumber;
+        this.score = other.score;
+        this.playerX = other.playerX;
+        this.playerY = other.playerY;
+        this.velocityY = other.velocityY;
+        this.jumping = other.jumping;
+        this.cameraX = other.cameraX;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public Simulation.Status getStatus() {
+        return status;
+    }
+
+    public int getLevelNumber() {
+        return levelNumber;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public double getPlayerX() {
+        return playerX;
+    }
+
+    public double getPlayerY() {
+        return playerY;
+    }
+
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    public boolean isJumping() {
+        return jumping;
+    }
+
+    public double getCameraX() {
+        return cameraX;
+    }
+}
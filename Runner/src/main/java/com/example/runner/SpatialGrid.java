@@ -0,0 +1,205 @@
+package com.example.runner;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid broadphase index over axis-aligned boxes.
+ * Built once from a set of boxes, then queried with an AABB to get the ids
+ * of nearby candidates without scanning every object in the level.
+ * Cells are stored in a flat (CSR) layout so queries do not allocate.
+ */
+public class SpatialGrid {
+    public static final double DEFAULT_CELL_SIZE = 128;
+
+    // Keep the cell table proportional to the number of objects
+    private static final int MIN_CELLS = 1024;
+    private static final int CELLS_PER_ITEM = 4;
+
+    private final double baseCellSize;
+    private double cellSize;
+    private double originX, originY;
+    private int columns, rows;
+
+    // cellStart[c]..cellStart[c + 1] is the slice of cellItems belonging to cell c
+    private int[] cellStart = new int[1];
+    private int[] cellItems = new int[0];
+    private int[] cellCursor = new int[0];
+
+    // First cell covered by each item, used to report each item only once per query
+    private int[] itemCellX = new int[0];
+    private int[] itemCellY = new int[0];
+    private int itemCount;
+
+    public SpatialGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public SpatialGrid(double cellSize) {
+        this.baseCellSize = cellSize;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * (Re)build the grid. Item ids are the indices into the given arrays.
+     */
+    public void build(double[] minX, double[] minY, double[] maxX, double[] maxY, int count) {
+        itemCount = count;
+        if (count == 0) {
+            columns = 0;
+            rows = 0;
+            cellStart[0] = 0;
+            return;
+        }
+
+        // Grid bounds
+        double loX = Double.MAX_VALUE, loY = Double.MAX_VALUE;
+        double hiX = -Double.MAX_VALUE, hiY = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            loX = Math.min(loX, minX[i]);
+            loY = Math.min(loY, minY[i]);
+            hiX = Math.max(hiX, maxX[i]);
+            hiY = Math.max(hiY, maxY[i]);
+        }
+        originX = loX;
+        originY = loY;
+
+        // Grow the cells if the level is sparse enough to blow up the cell table
+        double size = baseCellSize;
+        long maxCells = Math.max(MIN_CELLS, (long) count * CELLS_PER_ITEM);
+        while (cellCount(hiX - loX, size) * cellCount(hiY - loY, size) > maxCells) {
+            size *= 2;
+        }
+        cellSize = size;
+        columns = (int) cellCount(hiX - loX, size);
+        rows = (int) cellCount(hiY - loY, size);
+
+        if (itemCellX.length < count) {
+            itemCellX = new int[count];
+            itemCellY = new int[count];
+        }
+
+        // Pass 1: count items per cell
+        int cells = columns * rows;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+            cellCursor = new int[cells];
+        } else {
+            Arrays.fill(cellStart, 0, cells + 1, 0);
+        }
+        for (int i = 0; i < count; i++) {
+            int x0 = cellX(minX[i]), x1 = cellX(maxX[i]);
+            int y0 = cellY(minY[i]), y1 = cellY(maxY[i]);
+            itemCellX[i] = x0;
+            itemCellY[i] = y0;
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    cellStart[cy * columns + cx + 1]++;
+                }
+            }
+        }
+
+        // Prefix sum
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+
+        // Pass 2: fill, using a cursor per cell
+        int total = cellStart[cells];
+        if (cellItems.length < total) {
+            cellItems = new int[total];
+        }
+        int[] cursor = cellCursor;
+        System.arraycopy(cellStart, 0, cursor, 0, cells);
+        for (int i = 0; i < count; i++) {
+            int x0 = itemCellX[i], x1 = cellX(maxX[i]);
+            int y0 = itemCellY[i], y1 = cellY(maxY[i]);
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    cellItems[cursor[cy * columns + cx]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the ids of all items whose cells overlap the given box.
+     * The result is a superset of the items actually intersecting it,
+     * callers still do the exact test. Each id is reported once.
+     */
+    public void queryAabb(double minX, double minY, double maxX, double maxY, Hits hits) {
+        hits.clear();
+        if (itemCount == 0) return;
+        if (maxX < originX || maxY < originY) return;
+
+        int x0 = cellX(minX), x1 = cellX(maxX);
+        int y0 = cellY(minY), y1 = cellY(maxY);
+        if (x0 > x1 || y0 > y1) return;
+
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int cell = cy * columns + cx;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int id = cellItems[k];
+                    // An item spanning several cells is only reported from the
+                    // first of its cells that lies inside the query
+                    if (cx == Math.max(itemCellX[id], x0) && cy == Math.max(itemCellY[id], y0)) {
+                        hits.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private int cellX(double x) {
+        return clamp((int) Math.floor((x - originX) / cellSize), columns);
+    }
+
+    private int cellY(double y) {
+        return clamp((int) Math.floor((y - originY) / cellSize), rows);
+    }
+
+    private static int clamp(int cell, int count) {
+        if (cell < 0) return 0;
+        if (cell >= count) return count - 1;
+        return cell;
+    }
+
+    private static long cellCount(double extent, double size) {
+        return Math.max(1, (long) Math.floor(extent / size) + 1);
+    }
+
+    /**
+     * Reusable result buffer for grid queries
+     */
+    public static class Hits {
+        private int[] ids = new int[32];
+        private int size;
+
+        public int size() {
+            return size;
+        }
+
+        public int get(int index) {
+            return ids[index];
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
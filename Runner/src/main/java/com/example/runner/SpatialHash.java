@@ -0,0 +1,142 @@
+package com.example.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed uniform-grid index over a mutable set of boxes.
+ * Unlike SpatialGrid, which is rebuilt in one pass from a finished level,
+ * items can be inserted, moved and removed one at a time, so it suits the
+ * editor where objects change on every drag. Only occupied cells are stored.
+ */
+public class SpatialHash<T> {
+    private final double cellSize;
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    // Incremented per query so an item spanning several cells is reported once
+    private int queryStamp;
+
+    public SpatialHash() {
+        this(SpatialGrid.DEFAULT_CELL_SIZE);
+    }
+
+    public SpatialHash(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Insert the item, or move it if it is already indexed
+     */
+    public void put(T item, double minX, double minY, double maxX, double maxY) {
+        Entry<T> entry = entries.get(item);
+        if (entry == null) {
+            entry = new Entry<>(item);
+            entries.put(item, entry);
+        } else if (cell(minX) == entry.cellX0 && cell(minY) == entry.cellY0
+                && cell(maxX) == entry.cellX1 && cell(maxY) == entry.cellY1) {
+            // Still covers the same cells, only the bounds change
+            entry.setBounds(minX, minY, maxX, maxY);
+            return;
+        } else {
+            unlink(entry);
+        }
+        entry.setBounds(minX, minY, maxX, maxY);
+        entry.cellX0 = cell(minX);
+        entry.cellY0 = cell(minY);
+        entry.cellX1 = cell(maxX);
+        entry.cellY1 = cell(maxY);
+        for (int cy = entry.cellY0; cy <= entry.cellY1; cy++) {
+            for (int cx = entry.cellX0; cx <= entry.cellX1; cx++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>(4)).add(entry);
+            }
+        }
+    }
+
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Collect the items whose boxes intersect the query box (touching edges count).
+     * Previous contents of out are discarded.
+     */
+    public void query(double minX, double minY, double maxX, double maxY, List<T> out) {
+        out.clear();
+        int stamp = ++queryStamp;
+        int x0 = cell(minX), x1 = cell(maxX);
+        int y0 = cell(minY), y1 = cell(maxY);
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                List<Entry<T>> bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    Entry<T> entry = bucket.get(i);
+                    if (entry.stamp != stamp && entry.overlaps(minX, minY, maxX, maxY)) {
+                        entry.stamp = stamp;
+                        out.add(entry.item);
+                    }
+                }
+            }
+        }
+    }
+
+    private void unlink(Entry<T> entry) {
+        for (int cy = entry.cellY0; cy <= entry.cellY1; cy++) {
+            for (int cx = entry.cellX0; cx <= entry.cellX1; cx++) {
+                Long key = key(cx, cy);
+                List<Entry<T>> bucket = cells.get(key);
+                if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry<T> {
+        final T item;
+        double minX, minY, maxX, maxY;
+        int cellX0, cellY0, cellX1, cellY1;
+        int stamp;
+
+        Entry(T item) {
+            this.item = item;
+        }
+
+        void setBounds(double minX, double minY, double maxX, double maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        boolean overlaps(double otherMinX, double otherMinY, double otherMaxX, double otherMaxY) {
+            return otherMaxX >= minX && otherMaxY >= minY && otherMinX <= maxX && otherMinY <= maxY;
+        }
+    }
+}
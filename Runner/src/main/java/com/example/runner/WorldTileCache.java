@@ -0,0 +1,170 @@
+package com.example.runner;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The static part of a level (platforms, obstacles, goal) pre-rendered into
+ * fixed-width image tiles, so a frame draws two or three images instead of
+ * one fill per object. Tiles are rendered lazily when they first come into
+ * view (plus one tile ahead), kept in a small LRU set and their images
+ * recycled. Must be used on the JavaFX thread.
+ */
+public class WorldTileCache {
+    public static final double DEFAULT_TILE_WIDTH = 512;
+    private static final int MAX_TILES = 16;
+
+    private final double tileWidth;
+    private final double tileHeight;
+    private final Canvas tileCanvas;
+    private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+    private final SpatialGrid.Hits boxes = new SpatialGrid.Hits();
+
+    // Access-ordered, least recently drawn first
+    private final LinkedHashMap<Long, WritableImage> tiles = new LinkedHashMap<>(32, 0.75f, true);
+    private final ArrayDeque<WritableImage> freeImages = new ArrayDeque<>();
+
+    private LevelStreamer streamer;
+    private Image flagImage;
+    private long tilesRendered;
+
+    public WorldTileCache(double tileHeight) {
+        this(DEFAULT_TILE_WIDTH, tileHeight);
+    }
+
+    public WorldTileCache(double tileWidth, double tileHeight) {
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tileCanvas = new Canvas(tileWidth, tileHeight);
+        snapshotParameters.setFill(Color.TRANSPARENT);
+    }
+
+    /**
+     * Switch to another level (or none), dropping all tiles
+     */
+    public void setLevel(LevelStreamer streamer) {
+        this.streamer = streamer;
+        invalidate();
+    }
+
+    public void setFlagImage(Image flagImage) {
+        this.flagImage = flagImage;
+        invalidate();
+    }
+
+    /**
+     * Drop all tiles, e.g. after the level geometry was edited
+     */
+    public void invalidate() {
+        freeImages.addAll(tiles.values());
+        tiles.clear();
+    }
+
+    /**
+     * Draw the static world seen by a camera at cameraX
+     */
+    public void draw(GraphicsContext gc, double cameraX, double viewWidth) {
+        if (streamer == null) return;
+
+        long first = (long) Math.floor(cameraX / tileWidth);
+        long last = (long) Math.floor((cameraX + viewWidth) / tileWidth);
+        for (long index = Math.max(0, first); index <= last; index++) {
+            double minX = index * tileWidth;
+            // Whole pixels, so neighbouring tiles meet without a smoothed seam
+            double screenX = Math.round(minX - cameraX);
+            WritableImage tile = tile(index);
+            if (tile != null) {
+                gc.drawImage(tile, screenX, 0);
+            } else {
+                // Not all of the tile's geometry is resident yet: draw this part directly
+                drawWorld(gc, minX, minX + tileWidth, minX - screenX);
+            }
+        }
+
+        // Get the next tile ready before it scrolls into view
+        if ((last + 1) * tileWidth < streamer.getLevel().getLevelWidth() && !tiles.containsKey(last + 1)) {
+            tile(last + 1);
+        }
+    }
+
+    private WritableImage tile(long index) {
+        WritableImage tile = tiles.get(index);
+        if (tile != null) return tile;
+
+        double minX = index * tileWidth;
+        if (!streamer.isResident(minX, minX + tileWidth)) return null;
+
+        GraphicsContext gc = tileCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, tileWidth, tileHeight);
+        drawWorld(gc, minX, minX + tileWidth, minX);
+
+        tile = freeImages.poll();
+        tile = tileCanvas.snapshot(snapshotParameters, tile != null ? tile
+                : new WritableImage((int) Math.ceil(tileWidth), (int) Math.ceil(tileHeight)));
+        tiles.put(index, tile);
+        tilesRendered++;
+        evict();
+        return tile;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Long, WritableImage>> it = tiles.entrySet().iterator();
+        while (tiles.size() > MAX_TILES && it.hasNext()) {
+            freeImages.add(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * Draw the geometry overlapping [minX, maxX], shifted left by offsetX
+     */
+    private void drawWorld(GraphicsContext gc, double minX, double maxX, double offsetX) {
+        Level level = streamer.getLevel();
+
+        gc.setFill(Color.GREEN);
+        fillLayer(gc, level.getPlatformLayer(), minX, maxX, offsetX);
+
+        gc.setFill(Color.RED);
+        fillLayer(gc, level.getObstacleLayer(), minX, maxX, offsetX);
+
+        Rectangle2D goal = level.getGoal();
+        if (goal != null && goal.getMaxX() >= minX && goal.getMinX() <= maxX) {
+            if (flagImage != null) {
+                gc.drawImage(flagImage, goal.getMinX() - offsetX, goal.getMinY(),
+                        goal.getWidth(), goal.getHeight());
+            } else {
+                gc.setFill(Color.YELLOW);
+                gc.fillRect(goal.getMinX() - offsetX, goal.getMinY(), goal.getWidth(), goal.getHeight());
+            }
+        }
+    }
+
+    private void fillLayer(GraphicsContext gc, GeometryLayer layer, double minX, double maxX, double offsetX) {
+        layer.queryXRange(minX, maxX, boxes);
+        for (int k = 0; k < boxes.size(); k++) {
+            int i = boxes.get(k);
+            gc.fillRect(layer.getMinX(i) - offsetX, layer.getMinY(i),
+                    layer.getMaxX(i) - layer.getMinX(i), layer.getMaxY(i) - layer.getMinY(i));
+        }
+    }
+
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * Tiles rendered since creation, to check tiles are not rebuilt every frame
+     */
+    public long getTilesRendered() {
+        return tilesRendered;
+    }
+}
@@ -6,6 +6,9 @@ module com.example.runner {
     // GSON for JSON parsing
     requires com.google.gson;
 
+    // GC statistics for the performance overlay
+    requires java.management;
+
     // Open package to JavaFX for FXML loading
     opens com.example.runner to javafx.fxml;
 